@@ -0,0 +1,96 @@
+package com.paymentchain.customer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.paymentchain.customer.clients.dto.TransactionDto;
+import com.paymentchain.customer.entities.Customer;
+import com.paymentchain.customer.entities.CustomerProduct;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialización JSON de la respuesta de /customer/full (Customer con productos y transacciones).
+ *
+ * - toBytes: respuesta completa en memoria (como MappingJackson2HttpMessageConverter)
+ * - toStream: escritura directa a un OutputStream que descarta los bytes
+ *   (sin el coste de hacer crecer el buffer)
+ * - Asignación por respuesta con -prof gc (gc.alloc.rate.norm)
+ *
+ * Ejecutar: mvn -Pbenchmark test-compile exec:exec -Djmh.args="CustomerSerializationBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CustomerSerializationBenchmark {
+
+    @Param({"10", "500"})
+    private int products;
+
+    @Param({"10", "5000"})
+    private int transactions;
+
+    private ObjectWriter writer;
+
+    private Customer customer;
+
+    @Setup
+    public void setUp() {
+        writer = JsonMapper.builder().findAndAddModules().build().writerFor(Customer.class);
+
+        customer = new Customer();
+        customer.setId(1L);
+        customer.setCode("CUST001");
+        customer.setName("John");
+        customer.setSurname("Doe");
+        customer.setAddress("Calle Mayor 1, Madrid");
+        customer.setPhone("+34600000000");
+        customer.setIban("ES9121000418450200051332");
+
+        List<CustomerProduct> customerProducts = new ArrayList<>(products);
+        for (long i = 1; i <= products; i++) {
+            CustomerProduct product = new CustomerProduct();
+            product.setId(i);
+            product.setProductId(i);
+            product.setProductName("Product " + i);
+            product.setCustomer(customer);
+            customerProducts.add(product);
+        }
+        customer.setProducts(customerProducts);
+
+        List<TransactionDto> transitions = new ArrayList<>(transactions);
+        for (long i = 1; i <= transactions; i++) {
+            transitions.add(new TransactionDto(i, "REF" + i, customer.getIban(), "2024-03-15T10:15:30",
+                BigDecimal.valueOf(12550 + i, 2), new BigDecimal("0.98"), "Transferencia recibida " + i, "02", "WEB"));
+        }
+        customer.setTransitions(transitions);
+    }
+
+    @Benchmark
+    public byte[] toBytes() throws IOException {
+        return writer.writeValueAsBytes(customer);
+    }
+
+    @Benchmark
+    public void toStream() throws IOException {
+        writer.writeValue(OutputStream.nullOutputStream(), customer);
+    }
+}
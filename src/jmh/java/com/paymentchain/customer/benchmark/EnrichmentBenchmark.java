@@ -0,0 +1,129 @@
+package com.paymentchain.customer.benchmark;
+
+import com.paymentchain.customer.business.transactions.BusinessTransaction;
+import com.paymentchain.customer.cache.ProductNameCache;
+import com.paymentchain.customer.clients.TransactionClient;
+import com.paymentchain.customer.clients.dto.TransactionDto;
+import com.paymentchain.customer.entities.Customer;
+import com.paymentchain.customer.entities.CustomerProduct;
+import com.paymentchain.customer.readmodel.CustomerReadModel;
+import com.paymentchain.customer.respository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * BusinessTransaction.get(code): enriquecimiento de un customer contra clientes simulados.
+ *
+ * - latencyMs: latencia simulada de product y transaction service
+ * - products: productos del customer (llamadas a product service por petición)
+ * - virtualThreads: fan-out reactivo o con hilos virtuales
+ *
+ * Con latencia > 0 el tiempo por operación debería ser ~latencyMs (max() de las
+ * llamadas, no la suma); la diferencia es el coste propio del fan-out.
+ *
+ * Ejecutar: mvn -Pbenchmark test-compile exec:exec -Djmh.args="EnrichmentBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(8)
+@Fork(1)
+public class EnrichmentBenchmark {
+
+    @Param({"0", "20"})
+    private long latencyMs;
+
+    @Param({"5", "50"})
+    private int products;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private BusinessTransaction businessTransaction;
+
+    @Setup
+    public void setUp() {
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        ProductNameCache productNameCache = mock(ProductNameCache.class);
+        TransactionClient transactionClient = mock(TransactionClient.class);
+
+        when(customerRepository.findWithProductsByCode(anyString())).thenAnswer(invocation -> customer());
+        when(productNameCache.getName(anyLong())).thenAnswer(invocation ->
+            delayed(Mono.just("Product " + invocation.getArgument(0))));
+        when(transactionClient.getTransactionsByIban(anyString())).thenAnswer(invocation ->
+            delayed(Flux.range(1, 20).map(EnrichmentBenchmark::transaction)));
+
+        businessTransaction = new BusinessTransaction();
+        ReflectionTestUtils.setField(businessTransaction, "customerRepository", customerRepository);
+        ReflectionTestUtils.setField(businessTransaction, "productNameCache", productNameCache);
+        ReflectionTestUtils.setField(businessTransaction, "transactionClient", transactionClient);
+        ReflectionTestUtils.setField(businessTransaction, "customerReadModel", new CustomerReadModel());
+        ReflectionTestUtils.setField(businessTransaction, "jpaScheduler", Schedulers.boundedElastic());
+        ReflectionTestUtils.setField(businessTransaction, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(businessTransaction, "maxConcurrency", 8);
+        ReflectionTestUtils.setField(businessTransaction, "deadlineMs", 4000L);
+        ReflectionTestUtils.setField(businessTransaction, "productTimeoutMs", 3000L);
+        ReflectionTestUtils.setField(businessTransaction, "transactionTimeoutMs", 3000L);
+        ReflectionTestUtils.setField(businessTransaction, "virtualThreads", virtualThreads);
+    }
+
+    @Benchmark
+    public Customer get() {
+        return businessTransaction.get("CUST001");
+    }
+
+    private <T> Mono<T> delayed(Mono<T> value) {
+        return latencyMs == 0 ? value : value.delaySubscription(Duration.ofMillis(latencyMs));
+    }
+
+    private <T> Flux<T> delayed(Flux<T> values) {
+        return latencyMs == 0 ? values : values.delaySubscription(Duration.ofMillis(latencyMs));
+    }
+
+    private Customer customer() {
+        Customer customer = new Customer();
+        customer.setCode("CUST001");
+        customer.setIban("ES9121000418450200051332");
+        List<CustomerProduct> customerProducts = new ArrayList<>(products);
+        for (long i = 1; i <= products; i++) {
+            CustomerProduct product = new CustomerProduct();
+            product.setProductId(i);
+            customerProducts.add(product);
+        }
+        customer.setProducts(customerProducts);
+        return customer;
+    }
+
+    private static TransactionDto transaction(int id) {
+        return new TransactionDto((long) id, "REF" + id, "ES9121000418450200051332", "2024-03-15T10:15:30",
+            BigDecimal.valueOf(125.50), BigDecimal.ONE, "Transferencia " + id, "02", "WEB");
+    }
+}
@@ -0,0 +1,93 @@
+package com.paymentchain.customer.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentchain.customer.common.StandardizedApiExceptionResponse;
+import com.paymentchain.customer.exception.ApiExceptionHandler;
+import com.paymentchain.customer.exception.BusinessRuleException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Camino de error de POST /customer: BusinessRuleException (1025, 412) → ApiExceptionHandler → JSON.
+ *
+ * - throwAndHandle: la excepción se lanza a stackDepth marcos de profundidad
+ *   (el coste de fillInStackTrace crece con la pila de Spring MVC + filtros)
+ * - handleOnly: excepción ya creada; mide solo el handler y la serialización
+ *
+ * Ejecutar: mvn -Pbenchmark test-compile exec:exec -Djmh.args="ExceptionHandlerBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ExceptionHandlerBenchmark {
+
+    @Param({"20", "150"})
+    private int stackDepth;
+
+    private final ApiExceptionHandler handler = new ApiExceptionHandler();
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private WebRequest request;
+
+    private BusinessRuleException prebuilt;
+
+    @Setup
+    public void setUp() {
+        request = new ServletWebRequest(new MockHttpServletRequest("POST", "/customer"));
+        prebuilt = missingProduct(42L);
+    }
+
+    @Benchmark
+    public byte[] throwAndHandle() throws IOException {
+        try {
+            throwAt(stackDepth);
+            throw new IllegalStateException("unreachable");
+        } catch (BusinessRuleException ex) {
+            return handle(ex);
+        }
+    }
+
+    @Benchmark
+    public byte[] handleOnly() throws IOException {
+        return handle(prebuilt);
+    }
+
+    private byte[] handle(BusinessRuleException ex) throws IOException {
+        ResponseEntity<StandardizedApiExceptionResponse> response = handler.handleBusinessRuleException(ex, request);
+        return mapper.writeValueAsBytes(response.getBody());
+    }
+
+    private static void throwAt(int depth) throws BusinessRuleException {
+        if (depth > 0) {
+            throwAt(depth - 1);
+            return;
+        }
+        throw missingProduct(42L);
+    }
+
+    private static BusinessRuleException missingProduct(long productId) {
+        return new BusinessRuleException(1025, "Product with ID " + productId + " does not exist",
+            HttpStatus.PRECONDITION_FAILED);
+    }
+}
@@ -0,0 +1,145 @@
+package com.paymentchain.customer.benchmark;
+
+import com.paymentchain.customer.business.transactions.BusinessTransaction;
+import com.paymentchain.customer.cache.ProductNameCache;
+import com.paymentchain.customer.clients.TransactionClient;
+import com.paymentchain.customer.clients.dto.TransactionDto;
+import com.paymentchain.customer.entities.Customer;
+import com.paymentchain.customer.entities.CustomerProduct;
+import com.paymentchain.customer.readmodel.CustomerReadModel;
+import com.paymentchain.customer.respository.CustomerRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Ráfaga de concurrency peticiones a BusinessTransaction.get(code) en modo hilos de
+ * plataforma vs hilos virtuales.
+ *
+ * - virtualThreads=false: pool fijo del tamaño por defecto de Tomcat (200 hilos) y fan-out reactivo
+ * - virtualThreads=true: un hilo virtual por petición (spring.threads.virtual.enabled=true)
+ * - Downstream simulado con latencia fija (product y transaction service)
+ *
+ * Cada operación es una ráfaga completa: menos tiempo = más peticiones por segundo.
+ *
+ * Ejecutar: mvn -Pbenchmark test-compile exec:exec -Djmh.args="ExecutionModeBenchmark"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ExecutionModeBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+
+    private static final int PRODUCTS_PER_CUSTOMER = 5;
+
+    @Param({"1000"})
+    private int concurrency;
+
+    @Param({"50"})
+    private long latencyMs;
+
+    @Param({"false", "true"})
+    private boolean virtualThreads;
+
+    private BusinessTransaction businessTransaction;
+
+    private ExecutorService requestThreads;
+
+    private List<Callable<Customer>> burst;
+
+    @Setup
+    public void setUp() {
+        CustomerRepository customerRepository = mock(CustomerRepository.class);
+        ProductNameCache productNameCache = mock(ProductNameCache.class);
+        TransactionClient transactionClient = mock(TransactionClient.class);
+
+        when(customerRepository.findWithProductsByCode(anyString())).thenAnswer(invocation -> customer());
+        when(productNameCache.getName(anyLong())).thenAnswer(invocation ->
+            Mono.just("Product " + invocation.getArgument(0)).delaySubscription(Duration.ofMillis(latencyMs)));
+        when(transactionClient.getTransactionsByIban(anyString())).thenAnswer(invocation ->
+            Flux.just(transaction(1), transaction(2)).delaySubscription(Duration.ofMillis(latencyMs)));
+
+        businessTransaction = new BusinessTransaction();
+        ReflectionTestUtils.setField(businessTransaction, "customerRepository", customerRepository);
+        ReflectionTestUtils.setField(businessTransaction, "productNameCache", productNameCache);
+        ReflectionTestUtils.setField(businessTransaction, "transactionClient", transactionClient);
+        ReflectionTestUtils.setField(businessTransaction, "customerReadModel", new CustomerReadModel());
+        ReflectionTestUtils.setField(businessTransaction, "jpaScheduler", Schedulers.boundedElastic());
+        ReflectionTestUtils.setField(businessTransaction, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(businessTransaction, "maxConcurrency", 8);
+        ReflectionTestUtils.setField(businessTransaction, "deadlineMs", 4000L);
+        ReflectionTestUtils.setField(businessTransaction, "productTimeoutMs", 3000L);
+        ReflectionTestUtils.setField(businessTransaction, "transactionTimeoutMs", 3000L);
+        ReflectionTestUtils.setField(businessTransaction, "virtualThreads", virtualThreads);
+
+        requestThreads = virtualThreads
+            ? Executors.newVirtualThreadPerTaskExecutor()
+            : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+        burst = Collections.nCopies(concurrency, () -> businessTransaction.get("CUST001"));
+    }
+
+    @TearDown
+    public void tearDown() {
+        requestThreads.close();
+    }
+
+    @Benchmark
+    public List<Customer> burst() throws Exception {
+        List<Customer> customers = new ArrayList<>(concurrency);
+        for (Future<Customer> response : requestThreads.invokeAll(burst)) {
+            customers.add(response.get());
+        }
+        return customers;
+    }
+
+    private static Customer customer() {
+        Customer customer = new Customer();
+        customer.setCode("CUST001");
+        customer.setIban("ES1234567890");
+        List<CustomerProduct> products = new ArrayList<>(PRODUCTS_PER_CUSTOMER);
+        for (long i = 1; i <= PRODUCTS_PER_CUSTOMER; i++) {
+            CustomerProduct product = new CustomerProduct();
+            product.setProductId(i);
+            products.add(product);
+        }
+        customer.setProducts(products);
+        return customer;
+    }
+
+    private static TransactionDto transaction(long id) {
+        return new TransactionDto(id, "REF" + id, null, null, null, null, null, null, null);
+    }
+}
@@ -0,0 +1,186 @@
+package com.paymentchain.customer.benchmark;
+
+import com.paymentchain.customer.config.JdbcBatchingConfig;
+import com.paymentchain.customer.entities.Customer;
+import com.paymentchain.customer.entities.CustomerProduct;
+import com.paymentchain.customer.respository.CustomerRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.autoconfigure.transaction.TransactionAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+/**
+ * CustomerRepository.findByCode / findWithProductsByCode / findByIban contra H2 en memoria con datos sembrados.
+ *
+ * - Contexto Spring mínimo: DataSource + JPA + repositorios (sin web, Eureka ni config server)
+ * - rows customers con 3 productos cada uno, insertados por lotes JDBC
+ * - Cada operación busca un code aleatorio existente (índice ux_customer_code)
+ *   o su IBAN (índice ix_customer_iban)
+ * - indexed=false elimina ambos índices antes de sembrar: cada búsqueda es un full
+ *   scan. Comparar indexed=false/true con rows=1000000 muestra lo que aportan
+ *
+ * Ejecutar: mvn -Pbenchmark test-compile exec:exec -Djmh.args="FindByCodeBenchmark"
+ * Antes/después de los índices: -Djmh.args="FindByCodeBenchmark -p rows=1000000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class FindByCodeBenchmark {
+
+    private static final int PRODUCTS_PER_CUSTOMER = 3;
+
+    @Param({"10000", "100000", "1000000"})
+    private int rows;
+
+    @Param({"true", "false"})
+    private boolean indexed;
+
+    private ConfigurableApplicationContext context;
+
+    private CustomerRepository customerRepository;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(JpaBenchmarkConfig.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.main.banner-mode=off",
+                "spring.cloud.bootstrap.enabled=false",
+                "spring.cloud.config.enabled=false",
+                "spring.datasource.url=jdbc:h2:mem:findbycode;DB_CLOSE_DELAY=-1",
+                "spring.jpa.hibernate.ddl-auto=create-drop",
+                "spring.jpa.open-in-view=false",
+                "logging.level.root=WARN")
+            .run();
+
+        if (!indexed) {
+            dropIndexes(context.getBean(DataSource.class));
+        }
+        customerRepository = context.getBean(CustomerRepository.class);
+        seed(new TransactionTemplate(context.getBean(PlatformTransactionManager.class)));
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Customer findByCode() {
+        return customerRepository.findByCode(randomCode());
+    }
+
+    @Benchmark
+    public Customer findWithProductsByCode() {
+        return customerRepository.findWithProductsByCode(randomCode());
+    }
+
+    @Benchmark
+    public List<Customer> findByIban() {
+        return customerRepository.findByIban(iban(ThreadLocalRandom.current().nextInt(rows)));
+    }
+
+    private String randomCode() {
+        return code(ThreadLocalRandom.current().nextInt(rows));
+    }
+
+    /**
+     * Hibernate crea ux_customer_code como restricción única e ix_customer_iban como índice.
+     */
+    private static void dropIndexes(DataSource dataSource) {
+        try (Connection connection = dataSource.getConnection();
+             Statement ddl = connection.createStatement()) {
+            ddl.execute("ALTER TABLE customer DROP CONSTRAINT IF EXISTS ux_customer_code");
+            ddl.execute("DROP INDEX IF EXISTS ux_customer_code");
+            ddl.execute("DROP INDEX IF EXISTS ix_customer_iban");
+        } catch (SQLException ex) {
+            throw new IllegalStateException("Could not drop customer indexes", ex);
+        }
+    }
+
+    private void seed(TransactionTemplate transaction) {
+        int batch = 1000;
+        for (int start = 0; start < rows; start += batch) {
+            int from = start;
+            transaction.executeWithoutResult(status -> {
+                List<Customer> customers = new ArrayList<>(batch);
+                for (int i = from; i < Math.min(from + batch, rows); i++) {
+                    customers.add(customer(i));
+                }
+                customerRepository.saveAll(customers);
+            });
+        }
+    }
+
+    private static Customer customer(int i) {
+        Customer customer = new Customer();
+        customer.setCode(code(i));
+        customer.setName("Name " + i);
+        customer.setIban(iban(i));
+        List<CustomerProduct> products = new ArrayList<>(PRODUCTS_PER_CUSTOMER);
+        for (long p = 1; p <= PRODUCTS_PER_CUSTOMER; p++) {
+            CustomerProduct product = new CustomerProduct();
+            product.setProductId(p);
+            product.setCustomer(customer);
+            products.add(product);
+        }
+        customer.setProducts(products);
+        return customer;
+    }
+
+    private static String code(int i) {
+        return String.format("CUST%08d", i);
+    }
+
+    private static String iban(int i) {
+        return String.format("ES%022d", i);
+    }
+
+    @Configuration
+    @ImportAutoConfiguration({
+        DataSourceAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class,
+        TransactionAutoConfiguration.class
+    })
+    @Import(JdbcBatchingConfig.class)
+    @EntityScan(basePackageClasses = Customer.class)
+    @EnableJpaRepositories(basePackageClasses = CustomerRepository.class)
+    public static class JpaBenchmarkConfig {
+    }
+}
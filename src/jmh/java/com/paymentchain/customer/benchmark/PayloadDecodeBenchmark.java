@@ -0,0 +1,128 @@
+package com.paymentchain.customer.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.paymentchain.customer.clients.dto.ProductDto;
+import com.paymentchain.customer.clients.dto.TransactionDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodificación de respuestas de product y transaction service:
+ * árbol JsonNode (camino anterior) vs DTOs tipados (ProductDto, TransactionDto).
+ *
+ * - Throughput en ops/ms por decodificación completa de la respuesta
+ * - extraFields=true: cada transacción trae además campos que TransactionDto no modela
+ *   (merchantCategory, metadata anidado, un null), que se guardan en otherFields
+ * - Asignación por llamada con el profiler gc (gc.alloc.rate.norm, bytes/op),
+ *   activo por defecto en el perfil benchmark
+ *
+ * Ejecutar: mvn -Pbenchmark test-compile exec:exec -Djmh.args="PayloadDecodeBenchmark -prof gc"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayloadDecodeBenchmark {
+
+    @Param({"10", "1000"})
+    private int transactions;
+
+    @Param({"false", "true"})
+    private boolean extraFields;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    private ObjectReader productReader;
+
+    private ObjectReader transactionReader;
+
+    private byte[] productJson;
+
+    private byte[] transactionsJson;
+
+    @Setup
+    public void setUp() throws IOException {
+        productReader = mapper.readerFor(ProductDto.class);
+        transactionReader = mapper.readerFor(TransactionDto.class);
+
+        ObjectNode product = mapper.createObjectNode()
+            .put("id", 42)
+            .put("name", "Savings Account")
+            .put("code", "SAV-001")
+            .put("description", "Cuenta de ahorro con remuneración mensual y sin comisiones de mantenimiento")
+            .put("category", "ACCOUNTS")
+            .put("interestRate", 1.75)
+            .put("active", true);
+        product.putArray("tags").add("retail").add("savings").add("eur");
+        product.putObject("limits").put("daily", 5000).put("monthly", 50000);
+        productJson = mapper.writeValueAsBytes(product);
+
+        ArrayNode array = mapper.createArrayNode();
+        for (int i = 0; i < transactions; i++) {
+            ObjectNode transaction = array.addObject()
+                .put("id", i)
+                .put("reference", "REF" + i)
+                .put("accountIban", "ES9121000418450200051332")
+                .put("date", "2024-03-15T10:15:30")
+                .put("amount", 125.50 + i)
+                .put("fee", 0.98)
+                .put("description", "Transferencia recibida " + i)
+                .put("status", "02")
+                .put("channel", "WEB");
+            if (extraFields) {
+                transaction.put("merchantCategory", "5411")
+                    .putNull("reversal")
+                    .putObject("metadata").put("ip", "10.0.0.1").put("device", "browser");
+            }
+        }
+        transactionsJson = mapper.writeValueAsBytes(array);
+    }
+
+    @Benchmark
+    public String productAsTree() throws IOException {
+        JsonNode json = mapper.readTree(productJson);
+        return json.hasNonNull("name") ? json.get("name").asText() : null;
+    }
+
+    @Benchmark
+    public String productAsRecord() throws IOException {
+        ProductDto product = productReader.readValue(productJson);
+        return product.name();
+    }
+
+    @Benchmark
+    public void transactionsAsTree(Blackhole blackhole) throws IOException {
+        for (JsonNode transaction : mapper.readTree(transactionsJson)) {
+            blackhole.consume(transaction);
+        }
+    }
+
+    @Benchmark
+    public void transactionsAsRecords(Blackhole blackhole) throws IOException {
+        try (MappingIterator<TransactionDto> iterator = transactionReader.readValues(transactionsJson)) {
+            while (iterator.hasNext()) {
+                blackhole.consume(iterator.next());
+            }
+        }
+    }
+}
@@ -2,9 +2,6 @@ package com.paymentchain.customer;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.cloud.client.loadbalancer.LoadBalanced;
-import org.springframework.context.annotation.Bean;
-import org.springframework.web.reactive.function.client.WebClient;
 
 
 @SpringBootApplication
@@ -14,10 +11,4 @@ public class CustomerApplication {
         SpringApplication.run(CustomerApplication.class, args);
     }
 
-    @Bean
-    @LoadBalanced
-    public WebClient.Builder loadBalanceWebClientBuilder() {
-        return WebClient.builder();
-    }
-
 }
@@ -0,0 +1,238 @@
+package com.paymentchain.customer.business.imports;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.paymentchain.customer.entities.Customer;
+import com.paymentchain.customer.entities.CustomerProduct;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Lee el fichero de importación fila a fila, sin cargarlo entero en memoria.
+ *
+ * - Una fila mal formada no corta la importación: se devuelve como ImportRow inválida
+ * - Líneas en blanco se ignoran, pero cuentan: ImportRow.line es la línea física
+ *   del fichero donde empieza la fila (en CSV la cabecera es la línea 1)
+ * - CSV: la primera línea es la cabecera (orden de columnas libre); admite
+ *   campos entre comillas dobles con comas y comillas escapadas ("")
+ * - CSV: no admite saltos de línea dentro de un campo entre comillas; esa fila se
+ *   devuelve inválida (sin partir las líneas siguientes en filas falsas)
+ *
+ * @author benas
+ */
+class CustomerImportReader implements Iterator<ImportRow>, Closeable {
+
+    private static final String PRODUCT_SEPARATOR = ";";
+
+    private final BufferedReader reader;
+
+    private final ImportFormat format;
+
+    private final ObjectReader customerReader;
+
+    private Map<String, Integer> columns;
+
+    /** Última línea física leída */
+    private long line;
+
+    private ImportRow next;
+
+    CustomerImportReader(InputStream input, ImportFormat format, ObjectMapper objectMapper) {
+        this.reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        this.format = format;
+        this.customerReader = objectMapper.readerFor(Customer.class);
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null) {
+            next = readRow();
+        }
+        return next != null;
+    }
+
+    @Override
+    public ImportRow next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ImportRow row = next;
+        next = null;
+        return row;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private ImportRow readRow() {
+        try {
+            if (format == ImportFormat.CSV && columns == null) {
+                String header = nextLine();
+                if (header == null) {
+                    return null;
+                }
+                columns = header(header);
+            }
+
+            String text = nextLine();
+            if (text == null) {
+                return null;
+            }
+
+            if (format == ImportFormat.CSV && hasOpenQuote(text)) {
+                return multilineRow(text);
+            }
+            return format == ImportFormat.CSV ? csvRow(text) : jsonRow(text);
+
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private String nextLine() throws IOException {
+        String text;
+        do {
+            text = readLine();
+        } while (text != null && text.isBlank());
+        return text;
+    }
+
+    private String readLine() throws IOException {
+        String text = reader.readLine();
+        if (text != null) {
+            line++;
+        }
+        return text;
+    }
+
+    /**
+     * Consume las líneas de un campo entre comillas con saltos de línea hasta que
+     * se cierra, y las descarta como una sola fila inválida.
+     */
+    private ImportRow multilineRow(String text) throws IOException {
+        long start = line;
+        StringBuilder record = new StringBuilder(text);
+        String next;
+        while (hasOpenQuote(record) && (next = readLine()) != null) {
+            record.append('\n').append(next);
+        }
+        return ImportRow.invalid(start, "Line breaks inside quoted CSV fields are not supported");
+    }
+
+    /**
+     * Número impar de comillas: un campo entre comillas sigue abierto al final de la línea
+     * (las comillas escapadas "" no cambian la paridad).
+     */
+    static boolean hasOpenQuote(CharSequence text) {
+        int quotes = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '"') {
+                quotes++;
+            }
+        }
+        return quotes % 2 != 0;
+    }
+
+    private ImportRow jsonRow(String text) {
+        try {
+            return ImportRow.of(line, customerReader.readValue(text));
+        } catch (JsonProcessingException ex) {
+            return ImportRow.invalid(line, "Invalid JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    private ImportRow csvRow(String text) {
+        List<String> values = split(text);
+        Customer customer = new Customer();
+        customer.setCode(value(values, "code"));
+        customer.setName(value(values, "name"));
+        customer.setSurname(value(values, "surname"));
+        customer.setAddress(value(values, "address"));
+        customer.setPhone(value(values, "phone"));
+        customer.setIban(value(values, "iban"));
+
+        String products = value(values, "products");
+        if (products != null) {
+            List<CustomerProduct> customerProducts = new ArrayList<>();
+            for (String productId : products.split(PRODUCT_SEPARATOR)) {
+                if (productId.isBlank()) {
+                    continue;
+                }
+                try {
+                    CustomerProduct customerProduct = new CustomerProduct();
+                    customerProduct.setProductId(Long.parseLong(productId.trim()));
+                    customerProducts.add(customerProduct);
+                } catch (NumberFormatException ex) {
+                    return ImportRow.invalid(line, "Invalid product ID: " + productId);
+                }
+            }
+            customer.setProducts(customerProducts);
+        }
+
+        return ImportRow.of(line, customer);
+    }
+
+    private Map<String, Integer> header(String text) {
+        Map<String, Integer> header = new HashMap<>();
+        List<String> names = split(text);
+        for (int i = 0; i < names.size(); i++) {
+            header.put(names.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        return header;
+    }
+
+    private String value(List<String> values, String column) {
+        Integer index = columns.get(column);
+        if (index == null || index >= values.size()) {
+            return null;
+        }
+        String value = values.get(index).trim();
+        return value.isEmpty() ? null : value;
+    }
+
+    static List<String> split(String text) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < text.length() && text.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+
+        return values;
+    }
+}
@@ -0,0 +1,270 @@
+package com.paymentchain.customer.business.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentchain.customer.cache.ProductNameCache;
+import com.paymentchain.customer.entities.Customer;
+import com.paymentchain.customer.entities.CustomerProduct;
+import com.paymentchain.customer.events.CustomerChangedEvent;
+import com.paymentchain.customer.respository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.CacheMode;
+import org.hibernate.Session;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Importación masiva de customers (NDJSON o CSV).
+ *
+ * Flujo por lote de chunkSize filas:
+ * 1. Valida formato, code obligatorio y codes duplicados (en el lote y en base de datos).
+ *    Los ids de la entrada se ignoran: toda fila se inserta como customer nuevo
+ * 2. Valida todos los productos distintos del lote de una vez (ProductNameCache.getNames,
+ *    agrupado en llamadas batch por el coalescer si está activo)
+ * 3. Inserta las filas válidas en una transacción propia: inserts por lotes JDBC,
+ *    ids de secuencia asignados en bloques, sin pasar por la cache de segundo nivel
+ * 4. Entrega el resultado de cada fila del lote (CREATED / REJECTED / FAILED)
+ *
+ * Un lote que falla al guardar no afecta a los ya confirmados, y se reintenta fila a
+ * fila para que una fila que viola una restricción no arrastre a las demás del lote.
+ * Memoria acotada: se limpia el contexto de persistencia tras cada lote.
+ *
+ * @author benas
+ */
+@Service
+public class CustomerImportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CustomerImportService.class);
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductNameCache productNameCache;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    /** Filas por transacción (múltiplo de hibernate.jdbc.batch_size) */
+    @Value("${customer.import.chunk-size:500}")
+    private int chunkSize;
+
+    /** Tiempo máximo para validar los productos de un lote */
+    @Value("${customer.import.validation-timeout-ms:10000}")
+    private long validationTimeoutMs;
+
+    /**
+     * Importa customers leyendo la entrada en streaming.
+     *
+     * @param input Contenido NDJSON o CSV
+     * @param format Formato de la entrada
+     * @param sink Recibe los resultados de cada lote según se confirma
+     * @throws IOException Si falla la lectura de la entrada
+     */
+    public void importCustomers(InputStream input, ImportFormat format, Consumer<List<ImportResult>> sink)
+            throws IOException {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        List<ImportRow> chunk = new ArrayList<>(chunkSize);
+        int created = 0;
+        int total = 0;
+
+        try (CustomerImportReader reader = new CustomerImportReader(input, format, objectMapper)) {
+            while (reader.hasNext()) {
+                chunk.add(reader.next());
+                if (chunk.size() == chunkSize) {
+                    created += deliver(importChunk(chunk, transaction), sink);
+                    total += chunk.size();
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                created += deliver(importChunk(chunk, transaction), sink);
+                total += chunk.size();
+            }
+        }
+
+        LOGGER.info("Customer import finished: {} rows, {} created, {} not created", total, created, total - created);
+    }
+
+    private int deliver(List<ImportResult> results, Consumer<List<ImportResult>> sink) {
+        sink.accept(results);
+        return (int) results.stream().filter(result -> result.status() == ImportResult.Status.CREATED).count();
+    }
+
+    /**
+     * Valida e inserta un lote.
+     *
+     * @param rows Filas del lote
+     * @param transaction Plantilla para confirmar el lote en su propia transacción
+     * @return Resultado por fila, en el orden de entrada
+     */
+    List<ImportResult> importChunk(List<ImportRow> rows, TransactionTemplate transaction) {
+        Map<ImportRow, ImportResult> results = new IdentityHashMap<>(); // Customer cambia (id) al guardarse
+        List<ImportRow> candidates = new ArrayList<>();
+        Set<String> codes = new HashSet<>();
+
+        for (ImportRow row : rows) {
+            if (row.error() != null) {
+                results.put(row, ImportResult.rejected(row.line(), null, row.error()));
+            } else if (row.code() == null || row.code().isBlank()) {
+                results.put(row, ImportResult.rejected(row.line(), null, "Missing customer code"));
+            } else if (!codes.add(row.code())) {
+                results.put(row, ImportResult.rejected(row.line(), row.code(), "Duplicate customer code in import"));
+            } else {
+                candidates.add(row);
+            }
+        }
+
+        Set<String> existing = codes.isEmpty()
+            ? Collections.emptySet()
+            : new HashSet<>(customerRepository.findExistingCodes(codes));
+        Map<Long, String> productNames = productNames(candidates);
+
+        List<ImportRow> valid = new ArrayList<>();
+        for (ImportRow row : candidates) {
+            String error = validate(row.customer(), existing, productNames);
+            if (error != null) {
+                results.put(row, ImportResult.rejected(row.line(), row.code(), error));
+            } else {
+                valid.add(row);
+            }
+        }
+
+        save(valid, transaction, results);
+
+        return rows.stream().map(results::get).toList();
+    }
+
+    /**
+     * Nombres de todos los productos distintos del lote, en una sola consulta a la cache.
+     * Si product service no responde → null (las filas con productos se rechazan).
+     */
+    private Map<Long, String> productNames(List<ImportRow> rows) {
+        Set<Long> productIds = new LinkedHashSet<>();
+        for (ImportRow row : rows) {
+            if (row.customer().getProducts() != null) {
+                row.customer().getProducts().forEach(product -> productIds.add(product.getProductId()));
+            }
+        }
+
+        if (productIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        try {
+            return productNameCache.getNames(productIds).block(Duration.ofMillis(validationTimeoutMs));
+        } catch (Exception ex) {
+            LOGGER.error("Product validation failed for import chunk ({} products): {}", productIds.size(), ex.getMessage());
+            return null;
+        }
+    }
+
+    private String validate(Customer customer, Set<String> existingCodes, Map<Long, String> productNames) {
+        if (existingCodes.contains(customer.getCode())) {
+            return "Customer code already exists";
+        }
+
+        if (customer.getProducts() == null || customer.getProducts().isEmpty()) {
+            return null;
+        }
+
+        if (productNames == null) {
+            return "Product validation unavailable";
+        }
+
+        for (CustomerProduct product : customer.getProducts()) {
+            if (!productNames.containsKey(product.getProductId())) {
+                return "Product with ID " + product.getProductId() + " does not exist";
+            }
+        }
+
+        return null;
+    }
+
+    /**
+     * Guarda las filas en una transacción. Si falla (p.ej. una fila viola una restricción
+     * de la base de datos), se reintenta fila a fila: solo las filas culpables quedan FAILED.
+     */
+    private void save(List<ImportRow> rows, TransactionTemplate transaction, Map<ImportRow, ImportResult> results) {
+        if (rows.isEmpty()) {
+            return;
+        }
+
+        List<Customer> customers = rows.stream().map(ImportRow::customer).toList();
+        customers.forEach(CustomerImportService::resetIds);
+        customers.stream()
+            .filter(customer -> customer.getProducts() != null)
+            .forEach(customer -> customer.getProducts().forEach(product -> product.setCustomer(customer)));
+
+        try {
+            transaction.executeWithoutResult(status -> {
+                entityManager.unwrap(Session.class).setCacheMode(CacheMode.IGNORE);
+                customerRepository.saveAll(customers);
+                entityManager.flush();
+                entityManager.clear();
+            });
+
+            rows.forEach(row -> {
+                results.put(row, ImportResult.created(row.line(), row.code(), row.customer().getId()));
+                eventPublisher.publishEvent(new CustomerChangedEvent(row.code()));
+            });
+
+        } catch (RuntimeException ex) {
+            if (rows.size() == 1) {
+                ImportRow row = rows.get(0);
+                LOGGER.warn("Import row {} ({}) failed: {}", row.line(), row.code(), ex.getMessage());
+                String error = "Row not saved: " + NestedExceptionUtils.getMostSpecificCause(ex).getMessage();
+                results.put(row, ImportResult.failed(row.line(), row.code(), error));
+                return;
+            }
+
+            LOGGER.error("Import chunk of {} customers failed, retrying row by row: {}", rows.size(), ex.getMessage());
+            for (ImportRow row : rows) {
+                save(List.of(row), transaction, results);
+            }
+        }
+    }
+
+    /**
+     * Limpia los ids antes de cada intento de guardado:
+     * - Ids de la entrada: saveAll haría merge y sobrescribiría el customer existente
+     *   (o sus productos) con ese id; la importación solo crea
+     * - Tras un rollback los customers conservan los ids de secuencia asignados:
+     *   el reintento fila a fila debe insertarlos como nuevos
+     */
+    private static void resetIds(Customer customer) {
+        customer.setId(0);
+        if (customer.getProducts() != null) {
+            customer.getProducts().forEach(product -> product.setId(0));
+        }
+    }
+}
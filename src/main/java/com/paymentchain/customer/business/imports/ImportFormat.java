@@ -0,0 +1,27 @@
+package com.paymentchain.customer.business.imports;
+
+import org.springframework.http.MediaType;
+
+/**
+ * Formatos aceptados por POST /customer/import.
+ *
+ * - NDJSON: un customer por línea, mismo JSON que POST /customer
+ * - CSV: cabecera con code,name,surname,address,phone,iban,products
+ *   (products: IDs separados por ';')
+ *
+ * @author benas
+ */
+public enum ImportFormat {
+
+    NDJSON,
+    CSV;
+
+    public static final String TEXT_CSV_VALUE = "text/csv";
+
+    public static ImportFormat fromContentType(String contentType) {
+        if (contentType != null && MediaType.parseMediaType(contentType).isCompatibleWith(MediaType.valueOf(TEXT_CSV_VALUE))) {
+            return CSV;
+        }
+        return NDJSON;
+    }
+}
@@ -0,0 +1,37 @@
+package com.paymentchain.customer.business.imports;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Resultado de importar una fila (una línea NDJSON en la respuesta).
+ *
+ * @param line Línea del fichero de entrada donde empieza la fila (las líneas en blanco
+ *             y la cabecera CSV cuentan)
+ * @param code Código del customer (si se pudo leer)
+ * @param status CREATED, REJECTED (validación) o FAILED (error al guardar el lote)
+ * @param id ID asignado si se creó
+ * @param error Motivo si no se creó
+ *
+ * @author benas
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ImportResult(long line, String code, Status status, Long id, String error) {
+
+    public enum Status {
+        CREATED,
+        REJECTED,
+        FAILED
+    }
+
+    static ImportResult created(long line, String code, long id) {
+        return new ImportResult(line, code, Status.CREATED, id, null);
+    }
+
+    static ImportResult rejected(long line, String code, String error) {
+        return new ImportResult(line, code, Status.REJECTED, null, error);
+    }
+
+    static ImportResult failed(long line, String code, String error) {
+        return new ImportResult(line, code, Status.FAILED, null, error);
+    }
+}
@@ -0,0 +1,23 @@
+package com.paymentchain.customer.business.imports;
+
+import com.paymentchain.customer.entities.Customer;
+
+/**
+ * Fila leída del fichero: el customer o el error de formato.
+ *
+ * @author benas
+ */
+record ImportRow(long line, Customer customer, String error) {
+
+    static ImportRow of(long line, Customer customer) {
+        return new ImportRow(line, customer, null);
+    }
+
+    static ImportRow invalid(long line, String error) {
+        return new ImportRow(line, null, error);
+    }
+
+    String code() {
+        return customer == null ? null : customer.getCode();
+    }
+}
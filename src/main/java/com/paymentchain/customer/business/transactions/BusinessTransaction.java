@@ -1,22 +1,52 @@
 package com.paymentchain.customer.business.transactions;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.paymentchain.customer.clients.ProductClient;
+import com.paymentchain.customer.cache.ProductNameCache;
 import com.paymentchain.customer.clients.TransactionClient;
+import com.paymentchain.customer.clients.dto.TransactionDto;
+import com.paymentchain.customer.deadline.Deadline;
+import com.paymentchain.customer.deadline.DeadlineExceededException;
 import com.paymentchain.customer.entities.Customer;
 import com.paymentchain.customer.entities.CustomerProduct;
+import com.paymentchain.customer.events.CustomerChangedEvent;
 import com.paymentchain.customer.exception.BusinessRuleException;
+import com.paymentchain.customer.readmodel.CustomerReadModel;
 import com.paymentchain.customer.respository.CustomerRepository;
+import io.micrometer.context.ContextExecutorService;
+import io.micrometer.context.ContextSnapshotFactory;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.util.context.Context;
 
 import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Servicio de lógica de negocio para Customer.
@@ -38,24 +68,78 @@ public class BusinessTransaction {
     
     private static final Logger LOGGER = LoggerFactory.getLogger(BusinessTransaction.class);
     
+    /** Igual a @BatchSize de Customer.products: un lote = una query de productos */
+    private static final int STREAM_CHUNK_SIZE = 50;
+    
+    private static final ContextSnapshotFactory CONTEXT_SNAPSHOTS = ContextSnapshotFactory.builder().build();
+    
     @Autowired
     private CustomerRepository customerRepository;
     
     @Autowired
-    private ProductClient productClient;
+    private ProductNameCache productNameCache;
     
     @Autowired
     private TransactionClient transactionClient;
     
+    @Autowired
+    private Scheduler jpaScheduler;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    
+    @Autowired
+    private CustomerReadModel customerReadModel;
+    
+    @PersistenceContext
+    private EntityManager entityManager;
+    
+    /** Máximo de llamadas simultáneas a product service por customer */
+    @Value("${customer.enrichment.max-concurrency:8}")
+    private int maxConcurrency;
+    
+    /** Tiempo máximo total para enriquecer un customer (acotado además por el deadline de la petición) */
+    @Value("${customer.enrichment.deadline-ms:4000}")
+    private long deadlineMs;
+    
+    /** Timeout por llamada a product service al enriquecer */
+    @Value("${customer.enrichment.product-timeout-ms:3000}")
+    private long productTimeoutMs;
+    
+    /** Timeout para obtener todas las transacciones de un IBAN */
+    @Value("${customer.enrichment.transaction-timeout-ms:3000}")
+    private long transactionTimeoutMs;
+    
+    /** Timeout por producto al validar un POST /customer */
+    @Value("${customer.validation.product-timeout-ms:3000}")
+    private long validationTimeoutMs;
+    
+    /** Máximo de transacciones por respuesta en streaming (también si no se pide límite) */
+    @Value("${customer.transactions.stream.max-limit:10000}")
+    private int maxStreamedTransactions;
+    
+    /** Modo hilos virtuales: mismo flag que activa hilos virtuales en Tomcat */
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+    
     /**
      * Obtiene customer completo con productos y transacciones enriquecidos.
      * 
      * Flujo:
      * 1. Busca customer en base de datos local
-     * 2. Para cada producto → llama a product service y obtiene nombre
-     * 3. Llama a transaction service y obtiene transacciones del IBAN
+     * 2. Lanza en paralelo: una llamada a product service por producto
+     *    y una llamada a transaction service por el IBAN
+     * 3. Espera a todas con un único deadline global: min(deadline de la petición,
+     *    customer.enrichment.deadline-ms)
+     *    (reactivo, o un hilo virtual por llamada si spring.threads.virtual.enabled)
      * 4. Retorna customer enriquecido
      * 
+     * Con customer.read-model.enabled los pasos 1 y 2 (productos) se sustituyen por una
+     * búsqueda en CustomerReadModel (que ya degrada por su cuenta si product service cae).
+     * 
      * Manejo de errores:
      * - Si product service falla → nombre queda null (degradación graciosa)
      * - Si transaction service falla → lista vacía (no bloquea respuesta)
@@ -64,9 +148,31 @@ public class BusinessTransaction {
      * @return Customer enriquecido o null si no existe
      */
     public Customer get(String code) {
+        EnrichedCustomer result = getEnriched(code);
+        return result == null ? null : result.customer();
+    }
+    
+    /**
+     * Igual que get(code), indicando además si el customer está completo.
+     * 
+     * Incompleto = se aplicó algún fallback (error, timeout, circuito abierto,
+     * presupuesto agotado o vista del modelo de lectura sin nombres). Un producto
+     * que no existe no cuenta: su nombre null es el dato correcto.
+     * 
+     * @param code Código único del customer
+     * @return Customer enriquecido con su estado, o null si no existe
+     */
+    public EnrichedCustomer getEnriched(String code) {
         LOGGER.debug("Fetching customer with code: {}", code);
+        Deadline deadline = Deadline.currentOr(Duration.ofMillis(deadlineMs));
+        AtomicBoolean degraded = new AtomicBoolean();
         
-        Customer customer = customerRepository.findByCode(code);
+        if (customerReadModel.isEnabled()) {
+            Customer customer = getFromReadModel(code, deadline, degraded);
+            return customer == null ? null : new EnrichedCustomer(customer, !degraded.get());
+        }
+        
+        Customer customer = customerRepository.findWithProductsByCode(code);
         
         if (customer == null) {
             LOGGER.warn("Customer not found: {}", code);
@@ -75,96 +181,459 @@ public class BusinessTransaction {
         
         if (customer.getProducts() == null || customer.getProducts().isEmpty()) {
             LOGGER.debug("Customer {} has no products", code);
-            return customer;
+            return new EnrichedCustomer(customer, true);
         }
         
-        // Enriquece productos con nombres desde product service
-        LOGGER.debug("Enriching {} products for customer {}", 
+        // Enriquece productos y obtiene transacciones en paralelo
+        LOGGER.debug("Enriching {} products and transactions for customer {}", 
             customer.getProducts().size(), code);
         
-        customer.getProducts().forEach(this::enrichProductWithName);
+        if (virtualThreads) {
+            enrichOnVirtualThreads(customer, deadline, degraded);
+        } else {
+            enrich(customer, deadline, degraded).block(); // Único punto de bloqueo para todo el fan-out
+        }
         
-        // Obtiene transacciones desde transaction service
-        LOGGER.debug("Fetching transactions for IBAN: {}", customer.getIban());
-        List<?> transactions = getTransactions(customer.getIban());
-        customer.setTransitions(transactions);
+        LOGGER.info("Customer {} enriched {}: {} products, {} transactions",
+            code, degraded.get() ? "with fallbacks" : "successfully",
+            customer.getProducts().size(), customer.getTransitions().size());
+        
+        return new EnrichedCustomer(customer, !degraded.get());
+    }
+    
+    /**
+     * Resultado de getEnriched(code).
+     * 
+     * @param customer Customer enriquecido
+     * @param complete false si se aplicó algún fallback (no debe cachearse)
+     */
+    public record EnrichedCustomer(Customer customer, boolean complete) {
+    }
+    
+    /**
+     * get(code) desde CustomerReadModel: productos ya enriquecidos en una sola búsqueda,
+     * solo las transacciones se consultan en la petición.
+     * 
+     * Sin vista materializada la construcción espera a la base de datos y, como mucho
+     * customer.read-model.build-timeout-ms, a product service (si el circuito product
+     * está abierto no lo llama): nunca se repite el enriquecimiento en la petición.
+     */
+    private Customer getFromReadModel(String code, Deadline deadline, AtomicBoolean degraded) {
+        Customer customer = customerReadModel.find(code, degraded).block();
         
-        LOGGER.info("Customer {} enriched successfully: {} products, {} transactions",
-            code, customer.getProducts().size(), transactions.size());
+        if (customer == null) {
+            LOGGER.warn("Customer not found: {}", code);
+            return null;
+        }
         
+        customer.setTransitions(getTransactions(customer.getIban(), deadline, degraded).block());
         return customer;
     }
     
     /**
-     * Enriquece producto con nombre desde product service.
+     * Versión no bloqueante de get(code) para el endpoint reactivo.
      * 
-     * Estrategia de fallback:
-     * - Timeout: 3 segundos
-     * - Si falla: nombre = null (no bloquea flujo)
+     * Diferencias con get(code):
+     * - La consulta JPA se ejecuta en jpaScheduler (acotado), no en el hilo llamador
+     * - Productos llegan con fetch join (fuera del hilo de la petición no hay
+     *   sesión abierta para lazy loading)
+     * - Ningún hilo queda bloqueado esperando a product/transaction service
      * 
-     * @param customerProduct Producto a enriquecer (se modifica in-place)
+     * @param code Código único del customer
+     * @return Mono con Customer enriquecido o vacío si no existe
      */
-    private void enrichProductWithName(CustomerProduct customerProduct) {
-        try {
-            LOGGER.debug("Fetching product name for ID: {}", customerProduct.getProductId());
-            
-            String productName = productClient
-                .getProduct(customerProduct.getProductId())
-                .map(json -> json.get("name").asText())
-                .timeout(Duration.ofSeconds(3))
-                .onErrorReturn(null) // Fallback: si falla, continúa sin nombre
-                .block(); // OK bloquear aquí: estamos en contexto síncrono (forEach)
+    public Mono<Customer> getReactive(String code) {
+        Deadline deadline = Deadline.currentOr(Duration.ofMillis(deadlineMs)); // Capturado en el hilo de la petición
+        
+        return Mono.fromCallable(() -> customerRepository.findWithProductsByCode(code))
+            .subscribeOn(jpaScheduler)
+            .switchIfEmpty(Mono.fromRunnable(() -> LOGGER.warn("Customer not found: {}", code)))
+            .flatMap(customer -> {
+                if (customer.getProducts() == null || customer.getProducts().isEmpty()) {
+                    LOGGER.debug("Customer {} has no products", code);
+                    return Mono.just(customer);
+                }
+                
+                return enrich(customer, deadline, new AtomicBoolean());
+            });
+    }
+    
+    /**
+     * Lanza a la vez las llamadas a product service y a transaction service.
+     * 
+     * Estrategia:
+     * - Concurrencia acotada: como máximo maxConcurrency productos en vuelo
+     * - Deadline global: la latencia total es max() de las llamadas, no la suma
+     * - Cada llamada conserva su propio timeout (acotado al presupuesto restante) y fallback
+     * - Si vence el deadline: productos pendientes sin nombre, transacciones vacías
+     * 
+     * @param customer Customer a enriquecer (se modifica in-place)
+     * @param deadline Deadline de la petición
+     * @param degraded Se marca si se aplica algún fallback
+     * @return Mono con el mismo customer una vez enriquecido (nunca falla)
+     */
+    private Mono<Customer> enrich(Customer customer, Deadline deadline, AtomicBoolean degraded) {
+        Mono<Void> products = enrichProducts(customer, deadline, degraded);
+        
+        Mono<Void> transactions = getTransactions(customer.getIban(), deadline, degraded)
+            .doOnNext(customer::setTransitions)
+            .then();
+        
+        Duration budget = deadline.cap(Duration.ofMillis(deadlineMs));
+        
+        return Mono.when(products, transactions)
+            .timeout(budget)
+            .onErrorResume(ex -> {
+                LOGGER.warn("Enrichment deadline of {} ms exceeded for customer {}: {}", 
+                    budget.toMillis(), customer.getCode(), ex.getMessage());
+                degraded.set(true);
+                return Mono.empty();
+            })
+            .then(Mono.fromSupplier(() -> {
+                if (customer.getTransitions() == null) {
+                    customer.setTransitions(Collections.emptyList());
+                }
+                return customer;
+            }));
+    }
+    
+    /**
+     * Enriquece solo los productos, con concurrencia acotada (maxConcurrency).
+     */
+    private Mono<Void> enrichProducts(Customer customer, Deadline deadline, AtomicBoolean degraded) {
+        if (customer.getProducts() == null) {
+            return Mono.empty();
+        }
+        
+        recordFanOut(customer.getProducts().size());
+        return Flux.fromIterable(customer.getProducts())
+            .flatMap(customerProduct -> enrichProductWithName(customerProduct, deadline, degraded), maxConcurrency)
+            .then();
+    }
+    
+    /**
+     * Customer completo en streaming para respuestas NDJSON.
+     * 
+     * Flujo:
+     * 1. Enriquece los productos (mismo deadline y fallbacks que get)
+     * 2. Emite el customer con sus productos, sin transacciones (cabecera)
+     * 3. Emite cada transacción según llega de transaction service,
+     *    sin acumularlas en memoria ni en Customer.transitions
+     * 
+     * La llamada a transaction service sale a la vez que el enriquecimiento (no
+     * tras él): lo que llegue antes que la cabecera espera en el buffer acotado
+     * de mergeSequential (prefetch, con backpressure hacia transaction service).
+     * 
+     * Límite y rango de fechas se delegan en transaction service; el límite
+     * se aplica también aquí por si el servicio no lo respeta.
+     * El deadline de la petición viaja a transaction service (X-Request-Timeout-Ms)
+     * y acota la espera hasta la respuesta; el envío de transacciones ya iniciado no se corta.
+     * Si transaction service falla a mitad, el stream termina con lo ya emitido.
+     * 
+     * @param customer Customer con productos cargados (fetch join)
+     * @param limit Máximo de transacciones (null → customer.transactions.stream.max-limit)
+     * @param from Fecha inicial o null
+     * @param to Fecha final o null
+     * @return Flux con el customer seguido de sus transacciones
+     */
+    public Flux<Object> streamFull(Customer customer, Integer limit, LocalDate from, LocalDate to) {
+        int effectiveLimit = limit == null
+            ? maxStreamedTransactions
+            : Math.max(0, Math.min(limit, maxStreamedTransactions));
+        
+        Deadline deadline = Deadline.currentOr(Duration.ofMillis(deadlineMs));
+        Duration budget = deadline.cap(Duration.ofMillis(deadlineMs));
+        
+        Mono<Object> header = enrichProducts(customer, deadline, new AtomicBoolean())
+            .timeout(budget)
+            .onErrorResume(ex -> {
+                LOGGER.warn("Product enrichment deadline of {} ms exceeded for customer {}: {}",
+                    budget.toMillis(), customer.getCode(), ex.getMessage());
+                return Mono.empty();
+            })
+            .thenReturn(customer);
+        
+        Flux<TransactionDto> transactions = transactionClient
+            .getTransactions(customer.getIban(), effectiveLimit, from, to)
+            .contextWrite(Context.of(Deadline.CONTEXT_KEY, deadline)) // Acota la espera de la respuesta, no el stream
+            .take(effectiveLimit)
+            .onErrorResume(ex -> {
+                LOGGER.error("Transaction stream failed for IBAN {}: {}", customer.getIban(), ex.getMessage());
+                return Flux.empty();
+            });
+        
+        return Flux.mergeSequential(header, transactions); // Ambas en paralelo, cabecera primero
+    }
+    
+    /**
+     * Varios customers completos en una sola petición (procesos batch).
+     * 
+     * Flujo:
+     * 1. Una consulta IN con fetch join de productos para todos los codes
+     * 2. Nombres de la unión de productos distintos, de una vez (ProductNameCache.getNames)
+     * 3. Transacciones por customer con concurrencia acotada (maxConcurrency)
+     * 4. Emite los customers en el orden pedido, cada uno en cuanto están sus
+     *    transacciones y las de los anteriores
+     * 
+     * Toda la petición comparte el deadline del llamador (X-Request-Timeout-Ms o
+     * customer.enrichment.deadline-ms), que viaja a cada llamada a transaction service.
+     * Mismos fallbacks que get: nombre null, transacciones vacías (también para los
+     * customers que quedan pendientes al agotarse el presupuesto).
+     * Codes repetidos se devuelven una vez; los inexistentes se omiten.
+     * 
+     * @param codes Códigos de los customers
+     * @return Flux de customers enriquecidos, en el orden de codes
+     */
+    public Flux<Customer> getBulk(List<String> codes) {
+        Deadline deadline = Deadline.currentOr(Duration.ofMillis(deadlineMs)); // Capturado en el hilo de la petición
+        List<String> distinctCodes = codes.stream()
+            .filter(Objects::nonNull)
+            .distinct()
+            .toList();
+        
+        if (distinctCodes.isEmpty()) {
+            return Flux.empty();
+        }
+        
+        return Mono.fromCallable(() -> customerRepository.findWithProductsByCodeIn(distinctCodes))
+            .subscribeOn(jpaScheduler)
+            .flatMapMany(found -> {
+                Map<String, Customer> byCode = new HashMap<>();
+                found.forEach(customer -> byCode.put(customer.getCode(), customer));
+                List<Customer> customers = distinctCodes.stream()
+                    .map(byCode::get)
+                    .filter(Objects::nonNull)
+                    .toList();
+                
+                LOGGER.debug("Bulk enrichment: {} codes requested, {} found", distinctCodes.size(), customers.size());
+                
+                return enrichProductNames(customers, deadline)
+                    .thenMany(Flux.fromIterable(customers)
+                        .flatMapSequential(customer -> getTransactions(customer.getIban(), deadline, new AtomicBoolean())
+                            .map(transactions -> {
+                                customer.setTransitions(transactions);
+                                return customer;
+                            }), maxConcurrency));
+            });
+    }
+    
+    /**
+     * Nombres de producto para varios customers con una sola consulta a ProductNameCache
+     * (los productos compartidos se resuelven una vez). Si falla: nombres null.
+     * Deadline en el contexto igual que enrichProductWithName.
+     */
+    private Mono<Void> enrichProductNames(List<Customer> customers, Deadline deadline) {
+        Set<Long> productIds = new HashSet<>();
+        customers.stream()
+            .filter(customer -> customer.getProducts() != null)
+            .forEach(customer -> customer.getProducts().forEach(product -> productIds.add(product.getProductId())));
+        
+        if (productIds.isEmpty()) {
+            return Mono.empty();
+        }
+        
+        recordFanOut(productIds.size());
+        return productNameCache.getNames(productIds)
+            .timeout(deadline.cap(Duration.ofMillis(productTimeoutMs)))
+            .contextWrite(Context.of(Deadline.CONTEXT_KEY, deadline))
+            .onErrorResume(ex -> {
+                LOGGER.error("Failed to fetch names for {} products: {}", productIds.size(), ex.getMessage());
+                return Mono.just(Collections.emptyMap());
+            })
+            .doOnNext(names -> customers.stream()
+                .filter(customer -> customer.getProducts() != null)
+                .forEach(customer -> customer.getProducts()
+                    .forEach(product -> product.setProductName(names.get(product.getProductId())))))
+            .then();
+    }
+    
+    /**
+     * Fan-out equivalente a enrich(customer) usando hilos virtuales.
+     * 
+     * Cada llamada remota bloquea en su propio hilo virtual (barato), dentro de
+     * un executor con ámbito: ninguna tarea sobrevive a este método.
+     * 
+     * Estrategia:
+     * - Concurrencia acotada con semáforo (maxConcurrency productos en vuelo)
+     * - Deadline global: agotado el presupuesto se interrumpen las tareas pendientes
+     * - Mismos timeouts y fallbacks por llamada que el modo reactivo
+     * 
+     * Nota: StructuredTaskScope sigue en preview en Java 21; el executor en
+     * try-with-resources da la misma garantía de ámbito sin flags de preview.
+     * 
+     * @param customer Customer a enriquecer (se modifica in-place)
+     * @param deadline Deadline de la petición
+     * @param degraded Se marca si se aplica algún fallback
+     */
+    private void enrichOnVirtualThreads(Customer customer, Deadline deadline, AtomicBoolean degraded) {
+        Semaphore permits = new Semaphore(maxConcurrency);
+        Duration budget = deadline.cap(Duration.ofMillis(deadlineMs));
+        recordFanOut(customer.getProducts().size());
+        
+        // El contexto de trazas (span actual) viaja a cada hilo virtual
+        try (ExecutorService scope = ContextExecutorService.wrap(
+                Executors.newVirtualThreadPerTaskExecutor(), CONTEXT_SNAPSHOTS::captureAll)) {
+            for (CustomerProduct customerProduct : customer.getProducts()) {
+                scope.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return enrichProductWithName(customerProduct, deadline, degraded).block();
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
             
-            customerProduct.setProductName(productName);
+            scope.submit(() -> customer.setTransitions(getTransactions(customer.getIban(), deadline, degraded).block()));
             
-            if (productName == null) {
-                LOGGER.warn("Product name not found for ID: {}", customerProduct.getProductId());
+            scope.shutdown();
+            if (!scope.awaitTermination(budget.toMillis(), TimeUnit.MILLISECONDS)) {
+                LOGGER.warn("Enrichment deadline of {} ms exceeded for customer {}", 
+                    budget.toMillis(), customer.getCode());
+                degraded.set(true);
+                scope.shutdownNow();
             }
             
-        } catch (Exception ex) {
-            LOGGER.error("Failed to enrich product {}: {}", 
-                customerProduct.getProductId(), ex.getMessage());
-            customerProduct.setProductName(null);
+        } catch (InterruptedException ex) {
+            degraded.set(true);
+            Thread.currentThread().interrupt();
+        }
+        
+        if (customer.getTransitions() == null) {
+            customer.setTransitions(Collections.emptyList());
         }
     }
     
+    /**
+     * Enriquece producto con nombre desde product service (vía ProductNameCache).
+     * 
+     * Estrategia de fallback:
+     * - Timeout: customer.enrichment.product-timeout-ms, acotado al presupuesto restante
+     * - Presupuesto ya agotado: no se consulta
+     * - Si falla: nombre = null (no bloquea flujo)
+     * 
+     * El deadline viaja en el contexto de Reactor: si la llamada a product service
+     * se hace para esta petición (cache deshabilitada) lleva X-Request-Timeout-Ms.
+     * Las cargas compartidas de la cache no lo heredan (ver ProductNameCache).
+     * 
+     * @param customerProduct Producto a enriquecer (se modifica in-place)
+     * @param deadline Deadline de la petición
+     * @param degraded Se marca si se aplica el fallback
+     * @return Mono que completa cuando el producto ha sido enriquecido
+     */
+    private Mono<Void> enrichProductWithName(CustomerProduct customerProduct, Deadline deadline,
+            AtomicBoolean degraded) {
+        return Mono.defer(() -> {
+                if (deadline.isExpired()) {
+                    return Mono.error(new DeadlineExceededException("Request budget exhausted"));
+                }
+                LOGGER.debug("Fetching product name for ID: {}", customerProduct.getProductId());
+                return productNameCache.getName(customerProduct.getProductId())
+                    .timeout(deadline.cap(Duration.ofMillis(productTimeoutMs)));
+            })
+            .contextWrite(Context.of(Deadline.CONTEXT_KEY, deadline))
+            .doOnNext(customerProduct::setProductName)
+            .switchIfEmpty(Mono.fromRunnable(() -> 
+                LOGGER.warn("Product name not found for ID: {}", customerProduct.getProductId())))
+            .onErrorResume(ex -> {
+                LOGGER.error("Failed to enrich product {}: {}", 
+                    customerProduct.getProductId(), ex.getMessage());
+                customerProduct.setProductName(null); // Fallback: continúa sin nombre
+                degraded.set(true);
+                return Mono.empty();
+            })
+            .then();
+    }
+    
+    /**
+     * Registra cuántas llamadas a product service lanza el enriquecimiento de un customer.
+     * Métrica: customer.enrichment.fanout (histograma de percentiles)
+     */
+    private void recordFanOut(int products) {
+        DistributionSummary.builder("customer.enrichment.fanout")
+            .description("Product lookups per customer enrichment")
+            .baseUnit("calls")
+            .publishPercentileHistogram()
+            .register(meterRegistry)
+            .record(products);
+    }
+    
     /**
      * Obtiene transacciones desde transaction service.
      * 
      * Estrategia de fallback:
-     * - Timeout: 3 segundos
+     * - Timeout: customer.enrichment.transaction-timeout-ms, acotado al presupuesto restante
+     * - El deadline viaja en el contexto de Reactor hasta la llamada HTTP
+     *   (cabecera X-Request-Timeout-Ms; si ya está agotado no se llama)
      * - Si falla: retorna lista vacía
      * 
      * @param iban IBAN de la cuenta
-     * @return Lista de transacciones (JSON) o lista vacía
+     * @param deadline Deadline de la petición
+     * @param degraded Se marca si se aplica el fallback
+     * @return Mono con lista de transacciones o lista vacía
      */
-    private List<?> getTransactions(String iban) {
-        try {
-            List<?> transactions = transactionClient
-                .getTransactionsByIban(iban)
-                .timeout(Duration.ofSeconds(3))
-                .collectList()
-                .onErrorReturn(Collections.emptyList())
-                .block();
-            
-            LOGGER.debug("Fetched {} transactions for IBAN: {}", 
-                transactions.size(), iban);
-            
-            return transactions;
-            
-        } catch (Exception ex) {
-            LOGGER.error("Failed to fetch transactions for IBAN {}: {}", 
-                iban, ex.getMessage());
-            return Collections.emptyList();
+    private Mono<List<?>> getTransactions(String iban, Deadline deadline, AtomicBoolean degraded) {
+        return Mono.defer(() -> deadline.isExpired()
+                ? Mono.<List<TransactionDto>>error(new DeadlineExceededException("Request budget exhausted"))
+                : transactionClient
+                    .getTransactionsByIban(iban)
+                    .collectList()
+                    .timeout(deadline.cap(Duration.ofMillis(transactionTimeoutMs))))
+            .contextWrite(Context.of(Deadline.CONTEXT_KEY, deadline))
+            .<List<?>>map(transactions -> {
+                LOGGER.debug("Fetched {} transactions for IBAN: {}", 
+                    transactions.size(), iban);
+                return transactions;
+            })
+            .onErrorResume(ex -> {
+                LOGGER.error("Failed to fetch transactions for IBAN {}: {}", 
+                    iban, ex.getMessage());
+                degraded.set(true);
+                return Mono.just(Collections.emptyList());
+            });
+    }
+    
+    /**
+     * Recorre todos los customers en orden de id sin cargar la tabla en memoria.
+     * 
+     * Estrategia:
+     * - Stream JPA con fetch size (el driver trae filas por bloques)
+     * - Los customers se entregan en lotes de STREAM_CHUNK_SIZE: al tocar los
+     *   productos del primero, Hibernate carga los del lote entero (@BatchSize)
+     * - Tras entregar un lote se desvincula del contexto de persistencia,
+     *   así la memoria se mantiene plana sea cual sea el tamaño de la tabla
+     * 
+     * @param consumer Recibe cada customer (con productos accesibles)
+     */
+    @Transactional(readOnly = true)
+    public void streamAll(Consumer<Customer> consumer) {
+        List<Customer> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+        
+        try (Stream<Customer> customers = customerRepository.streamAll()) {
+            customers.forEach(customer -> {
+                chunk.add(customer);
+                if (chunk.size() == STREAM_CHUNK_SIZE) {
+                    deliver(chunk, consumer);
+                }
+            });
         }
+        
+        deliver(chunk, consumer);
+    }
+    
+    private void deliver(List<Customer> chunk, Consumer<Customer> consumer) {
+        chunk.forEach(consumer);
+        chunk.forEach(entityManager::detach); // Cascade: desvincula también sus productos
+        chunk.clear();
     }
     
     /**
      * Crea nuevo customer validando que productos referenciados existan.
      * 
      * Validación:
-     * - Por cada producto en input → verifica que existe en product service
-     * - Si alguno no existe → BusinessRuleException (HTTP 412)
+     * - Los productos distintos del input se comprueban en paralelo (ProductNameCache)
+     * - En cuanto uno no existe → BusinessRuleException (HTTP 412) y se cancelan
+     *   las comprobaciones pendientes
      * 
      * @param input Customer a crear
      * @return Customer guardado
@@ -172,30 +641,14 @@ public class BusinessTransaction {
      */
     public Customer post(Customer input) throws BusinessRuleException {
         LOGGER.debug("Creating customer: {}", input.getName());
+        Deadline deadline = Deadline.currentOr(Duration.ofMillis(deadlineMs));
         
-        if (Objects.nonNull(input.getProducts())) {
-            
-            for (CustomerProduct productDTO : input.getProducts()) {
-                LOGGER.debug("Validating product: {}", productDTO.getProductId());
-                
-                String productName = getProductNameForValidation(productDTO.getProductId());
-                
-                if (productName == null) {
-                    LOGGER.error("Product validation failed: product {} does not exist", 
-                        productDTO.getProductId());
-                    
-                    throw new BusinessRuleException(
-                        1025,
-                        "Product with ID " + productDTO.getProductId() + " does not exist",
-                        HttpStatus.PRECONDITION_FAILED
-                    );
-                }
-                
-                LOGGER.debug("Product {} validated: {}", productDTO.getProductId(), productName);
-            }
+        if (Objects.nonNull(input.getProducts()) && !input.getProducts().isEmpty()) {
+            validateProducts(input.getProducts(), deadline);
         }
         
         Customer saved = customerRepository.save(input);
+        eventPublisher.publishEvent(new CustomerChangedEvent(saved.getCode()));
         LOGGER.info("Customer created successfully: ID={}, code={}", 
             saved.getId(), saved.getCode());
         
@@ -203,27 +656,67 @@ public class BusinessTransaction {
     }
     
     /**
-     * Obtiene nombre de producto (solo para validación).
+     * Valida que existen todos los productos referenciados.
      * 
-     * Diferencia con enrichProductWithName:
-     * - Aquí NO queremos fallback (si falla, debe lanzar error)
-     * - Si producto no existe → retorna null (para lanzar BusinessRuleException)
+     * Estrategia:
+     * - Un productId repetido se consulta una sola vez
+     * - Hasta maxConcurrency consultas simultáneas, vía ProductNameCache
+     *   (los productos ya vistos al enriquecer no salen a product service)
+     * - Fail-fast: el primer producto inexistente termina la validación y
+     *   cancela las consultas pendientes
+     * - Aquí NO hay fallback: un error o timeout al consultar cuenta como inexistente
      * 
-     * @param productId ID del producto
-     * @return Nombre del producto o null si no existe
+     * @param products Productos del customer
+     * @param deadline Deadline de la petición (acota customer.validation.product-timeout-ms)
+     * @throws BusinessRuleException Si algún producto no existe (1025, HTTP 412)
      */
-    private String getProductNameForValidation(Long productId) {
+    private void validateProducts(List<CustomerProduct> products, Deadline deadline) throws BusinessRuleException {
+        List<Long> productIds = products.stream()
+            .map(CustomerProduct::getProductId)
+            .distinct()
+            .toList();
+        
         try {
-            return productClient
-                .getProduct(productId)
-                .map(json -> json.get("name").asText())
-                .timeout(Duration.ofSeconds(3))
+            Flux.fromIterable(productIds)
+                .flatMap(productId -> validateProduct(productId, deadline), maxConcurrency)
+                .then()
                 .block();
                 
-        } catch (Exception ex) {
-            LOGGER.error("Product validation call failed for ID {}: {}", 
-                productId, ex.getMessage());
-            return null;
+        } catch (MissingProductException ex) {
+            LOGGER.error("Product validation failed: product {} does not exist", ex.productId);
+            
+            throw new BusinessRuleException(
+                1025,
+                "Product with ID " + ex.productId + " does not exist",
+                HttpStatus.PRECONDITION_FAILED
+            );
+        }
+    }
+    
+    private Mono<String> validateProduct(Long productId, Deadline deadline) {
+        return Mono.defer(() -> productNameCache
+                .getName(productId)
+                .timeout(deadline.cap(Duration.ofMillis(validationTimeoutMs))))
+            .contextWrite(Context.of(Deadline.CONTEXT_KEY, deadline))
+            .doOnNext(productName -> LOGGER.debug("Product {} validated: {}", productId, productName))
+            .onErrorResume(ex -> {
+                LOGGER.error("Product validation call failed for ID {}: {}", 
+                    productId, ex.getMessage());
+                return Mono.empty();
+            })
+            .switchIfEmpty(Mono.error(() -> new MissingProductException(productId)));
+    }
+    
+    /**
+     * Señal interna de producto inexistente (sin stack trace: es un resultado, no un fallo).
+     */
+    private static final class MissingProductException extends RuntimeException {
+        
+        private final Long productId;
+        
+        MissingProductException(Long productId) {
+            super(null, null, false, false);
+            this.productId = productId;
         }
     }
 }
\ No newline at end of file
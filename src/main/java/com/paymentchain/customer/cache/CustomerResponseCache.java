@@ -0,0 +1,143 @@
+package com.paymentchain.customer.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.paymentchain.customer.events.CustomerChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Supplier;
+
+/**
+ * Cache de corta duración de la respuesta serializada de /customer/full (code → JSON + ETag).
+ *
+ * Los front-ends consultan /customer/full en bucle; mientras la entrada está viva
+ * una consulta repetida no toca la base de datos ni product/transaction service,
+ * y con If-None-Match ni siquiera se envía el cuerpo (304).
+ *
+ * Características:
+ * - TTL corto (ttlMs): acota cuánto tarda en verse un cambio que no pasa por este
+ *   servicio (nuevas transacciones, nombres de producto)
+ * - Single-flight: peticiones simultáneas del mismo code esperan a una sola construcción
+ * - Invalidación con CustomerChangedEvent (POST, PUT, DELETE, importación); una
+ *   construcción en curso cuando llega la invalidación no se guarda
+ * - Customers inexistentes no se cachean
+ * - Respuestas degradadas (algún fallback: nombre null, transacciones vacías por
+ *   timeout, circuito abierto o presupuesto agotado) se sirven sin ETag y no se
+ *   cachean: una petición con poco presupuesto no envenena la entrada para el resto
+ * - ETag fuerte: hash MD5 del cuerpo, calculado una vez por entrada
+ * - Métricas hit/miss/eviction como cache.* {cache=customer-responses}
+ *
+ * @author benas
+ */
+@Component
+public class CustomerResponseCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CustomerResponseCache.class);
+
+    public static final String CACHE_NAME = "customer-responses";
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${customer.response-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${customer.response-cache.ttl-ms:5000}")
+    private long ttlMs;
+
+    @Value("${customer.response-cache.max-size:10000}")
+    private long maxSize;
+
+    private AsyncCache<String, CachedResponse> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .expireAfterWrite(Duration.ofMillis(ttlMs))
+            .recordStats()
+            .buildAsync();
+
+        new CaffeineCacheMetrics<>(cache.synchronous(), CACHE_NAME, Tags.empty()).bindTo(meterRegistry);
+
+        LOGGER.info("Customer response cache {}: ttl={} ms, maxSize={}",
+            enabled ? "enabled" : "disabled", ttlMs, maxSize);
+    }
+
+    /**
+     * Obtiene la respuesta cacheada de un customer o la construye en el hilo llamador.
+     *
+     * @param code Código del customer
+     * @param response Construye la respuesta: CachedResponse.of (completa) o
+     *                 CachedResponse.degraded; null si el customer no existe
+     * @return Respuesta (con ETag si es completa), o null si el customer no existe
+     */
+    public CachedResponse get(String code, Supplier<CachedResponse> response) {
+        if (!enabled) {
+            return response.get();
+        }
+
+        CompletableFuture<CachedResponse> created = new CompletableFuture<>();
+        CompletableFuture<CachedResponse> existing = cache.asMap().putIfAbsent(code, created);
+        if (existing != null) {
+            try {
+                return existing.join(); // Otra petición la está construyendo o ya la construyó
+            } catch (CompletionException ex) {
+                throw ex.getCause() instanceof RuntimeException cause ? cause : ex;
+            }
+        }
+
+        try {
+            CachedResponse built = response.get();
+            created.complete(built); // null → Caffeine descarta la entrada
+            if (built != null && !built.complete()) {
+                cache.asMap().remove(code, created); // Quien ya esperaba la recibe; las siguientes reconstruyen
+            }
+            return built;
+        } catch (RuntimeException ex) {
+            created.completeExceptionally(ex); // Caffeine descarta la entrada
+            throw ex;
+        }
+    }
+
+    /**
+     * Descarta la respuesta de un customer que ha cambiado. Si se estaba construyendo,
+     * quien la construye la recibe igualmente pero ya no queda en cache.
+     */
+    @EventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (event.code() != null) {
+            cache.synchronous().invalidate(event.code());
+        }
+    }
+
+    /**
+     * JSON de /customer/full, su ETag (null si degradada) y si está completa.
+     */
+    public record CachedResponse(byte[] body, String etag, boolean complete) {
+
+        /** Respuesta completa: se cachea y lleva ETag */
+        public static CachedResponse of(byte[] body) {
+            return body == null ? null
+                : new CachedResponse(body, "\"" + DigestUtils.md5DigestAsHex(body) + "\"", true);
+        }
+
+        /** Respuesta con algún fallback: se sirve tal cual, sin ETag ni cache */
+        public static CachedResponse degraded(byte[] body) {
+            return body == null ? null : new CachedResponse(body, null, false);
+        }
+    }
+}
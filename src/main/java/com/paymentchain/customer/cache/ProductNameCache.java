@@ -0,0 +1,184 @@
+package com.paymentchain.customer.cache;
+
+import com.github.benmanes.caffeine.cache.AsyncCacheLoader;
+import com.github.benmanes.caffeine.cache.AsyncLoadingCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.paymentchain.customer.clients.ProductLookupCoalescer;
+import com.paymentchain.customer.clients.dto.ProductDto;
+import com.paymentchain.customer.events.ProductChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * Cache local de nombres de producto (productId → name).
+ *
+ * El catálogo de productos cambia muy poco, así que evitamos ir a
+ * product service en cada /customer/full y POST /customer.
+ *
+ * Características (Caffeine):
+ * - Tamaño máximo con expulsión W-TinyLFU (maxSize)
+ * - Single-flight: una clave fría genera una sola llamada aunque
+ *   lleguen muchas peticiones a la vez
+ * - Stale-while-revalidate: pasado ttl se sigue sirviendo el valor
+ *   antiguo mientras se refresca en segundo plano; pasado ttl + stale
+ *   la entrada expira y se vuelve a cargar en primer plano
+ * - Productos inexistentes no se cachean
+ * - Invalidación con ProductChangedEvent (webhook de product service)
+ * - Métricas hit/miss/eviction exportadas como cache.* {cache=product-names}
+ *
+ * Deadline (Deadline.CONTEXT_KEY en el contexto de Reactor):
+ * - Cache habilitada: la carga es compartida por todos los llamadores de esa
+ *   clave, así que deliberadamente no lleva el deadline de ninguno (una petición
+ *   con poco presupuesto no debe acortar la carga del resto). Cada llamador acota
+ *   su espera con su propio timeout.
+ * - Cache deshabilitada: la llamada es del llamador y hereda su contexto
+ *   (X-Request-Timeout-Ms), salvo que el coalescer la agrupe con otras.
+ *
+ * @author benas
+ */
+@Component
+public class ProductNameCache {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductNameCache.class);
+
+    public static final String CACHE_NAME = "product-names";
+
+    @Autowired
+    private ProductLookupCoalescer productLookupCoalescer;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${customer.product-cache.enabled:true}")
+    private boolean enabled;
+
+    /** Tiempo tras el que una entrada se refresca en segundo plano */
+    @Value("${customer.product-cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    /** Tiempo adicional durante el que se sirve una entrada caducada */
+    @Value("${customer.product-cache.stale-ms:600000}")
+    private long staleMs;
+
+    @Value("${customer.product-cache.max-size:10000}")
+    private long maxSize;
+
+    private AsyncLoadingCache<Long, String> cache;
+
+    @PostConstruct
+    void init() {
+        cache = Caffeine.newBuilder()
+            .maximumSize(maxSize)
+            .refreshAfterWrite(Duration.ofMillis(ttlMs))
+            .expireAfterWrite(Duration.ofMillis(ttlMs + staleMs))
+            .recordStats()
+            .buildAsync(new ProductNameLoader());
+
+        new CaffeineCacheMetrics<>(cache.synchronous(), CACHE_NAME, Tags.empty()).bindTo(meterRegistry);
+
+        LOGGER.info("Product name cache {}: ttl={} ms, stale={} ms, maxSize={}",
+            enabled ? "enabled" : "disabled", ttlMs, staleMs, maxSize);
+    }
+
+    /**
+     * Obtiene nombre de producto desde cache (o product service si no está).
+     *
+     * Cancelar el Mono (p.ej. por timeout del llamador) no cancela la carga:
+     * otros llamadores esperando la misma clave siguen recibiendo el valor.
+     *
+     * @param productId ID del producto
+     * @return Mono con nombre del producto (vacío si no existe)
+     */
+    public Mono<String> getName(Long productId) {
+        if (!enabled) {
+            return load(productId);
+        }
+
+        return Mono.fromFuture(() -> cache.get(productId), true);
+    }
+
+    /**
+     * Obtiene nombres de varios productos de una vez.
+     *
+     * Las claves que faltan en cache se cargan juntas (agrupadas por el coalescer).
+     *
+     * @param productIds IDs de los productos
+     * @return Mono con mapa productId → name (los inexistentes no aparecen)
+     */
+    public Mono<Map<Long, String>> getNames(Collection<Long> productIds) {
+        if (!enabled) {
+            return loadAll(productIds);
+        }
+
+        return Mono.fromFuture(() -> cache.getAll(productIds), true);
+    }
+
+    /**
+     * Descarta la entrada de un producto (p.ej. tras un cambio en el catálogo).
+     *
+     * @param productId ID del producto
+     */
+    public void invalidate(Long productId) {
+        cache.synchronous().invalidate(productId);
+    }
+
+    /**
+     * Descarta el nombre de un producto que ha cambiado en el catálogo. Se ejecuta
+     * antes que el resto de listeners para que lean ya el nombre nuevo.
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onProductChanged(ProductChangedEvent event) {
+        if (event.productId() != null) {
+            invalidate(event.productId());
+        }
+    }
+
+    private Mono<String> load(Long productId) {
+        return productLookupCoalescer.getProduct(productId)
+            .mapNotNull(ProductDto::name);
+    }
+
+    private Mono<Map<Long, String>> loadAll(Collection<Long> productIds) {
+        return Flux.fromIterable(Set.copyOf(productIds))
+            .flatMap(id -> load(id).map(name -> Map.entry(id, name)))
+            .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    /**
+     * Loader de Caffeine sobre el pipeline reactivo de product service.
+     */
+    private class ProductNameLoader implements AsyncCacheLoader<Long, String> {
+
+        @Override
+        public CompletableFuture<String> asyncLoad(Long productId, Executor executor) {
+            LOGGER.debug("Loading product name for ID: {}", productId);
+            return load(productId).toFuture();
+        }
+
+        @Override
+        public CompletableFuture<Map<Long, String>> asyncLoadAll(Set<? extends Long> productIds, Executor executor) {
+            LOGGER.debug("Loading product names for {} IDs", productIds.size());
+            return loadAll(Set.copyOf(productIds)).toFuture();
+        }
+    }
+}
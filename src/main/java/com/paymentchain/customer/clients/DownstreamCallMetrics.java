@@ -0,0 +1,99 @@
+package com.paymentchain.customer.clients;
+
+import com.paymentchain.customer.deadline.DeadlineExceededException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Métricas de las llamadas a un downstream (vistas desde el llamador).
+ *
+ * - customer.downstream.calls {client, operation, outcome}: latencia con histograma
+ *   de percentiles, incluyendo espera en bulkhead y rechazos del circuit breaker
+ * - customer.downstream.payload.size {client, operation}: elementos recibidos por llamada
+ *   (solo llamadas que devuelven Flux)
+ *
+ * Outcome:
+ * - success: respuesta completa
+ * - timeout: TimeoutException o presupuesto de la petición agotado
+ * - fallback: cualquier otro error (HTTP, circuito abierto, bulkhead lleno);
+ *   el llamador aplica su fallback (nombre null, lista vacía, 412...)
+ * - cancelled: el llamador dejó de esperar (deadline global, fail-fast, take(n))
+ *
+ * @author benas
+ */
+public class DownstreamCallMetrics {
+
+    static final String CALLS = "customer.downstream.calls";
+
+    static final String PAYLOAD_SIZE = "customer.downstream.payload.size";
+
+    private final String client;
+
+    private final MeterRegistry meterRegistry;
+
+    public DownstreamCallMetrics(String client, MeterRegistry meterRegistry) {
+        this.client = client;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Mide una llamada que devuelve un único valor.
+     */
+    public <T> Mono<T> timed(String operation, Mono<T> call) {
+        return Mono.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            return call
+                .doOnSuccess(value -> stop(sample, operation, "success"))
+                .doOnError(ex -> stop(sample, operation, outcome(ex)))
+                .doOnCancel(() -> stop(sample, operation, "cancelled"));
+        });
+    }
+
+    /**
+     * Mide una llamada que devuelve varios elementos, más el número de elementos recibidos.
+     */
+    public <T> Flux<T> timed(String operation, Flux<T> call) {
+        return Flux.defer(() -> {
+            Timer.Sample sample = Timer.start(meterRegistry);
+            AtomicLong items = new AtomicLong();
+            return call
+                .doOnNext(item -> items.incrementAndGet())
+                .doOnComplete(() -> stop(sample, operation, "success"))
+                .doOnError(ex -> stop(sample, operation, outcome(ex)))
+                .doOnCancel(() -> stop(sample, operation, "cancelled"))
+                .doFinally(signal -> payloadSize(operation).record(items.get()));
+        });
+    }
+
+    private void stop(Timer.Sample sample, String operation, String outcome) {
+        sample.stop(Timer.builder(CALLS)
+            .description("Downstream call latency as seen by customer service")
+            .tag("client", client)
+            .tag("operation", operation)
+            .tag("outcome", outcome)
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+    }
+
+    private DistributionSummary payloadSize(String operation) {
+        return DistributionSummary.builder(PAYLOAD_SIZE)
+            .description("Items received per downstream call")
+            .baseUnit("items")
+            .tag("client", client)
+            .tag("operation", operation)
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+    }
+
+    static String outcome(Throwable ex) {
+        return ex instanceof TimeoutException || ex instanceof DeadlineExceededException
+            ? "timeout"
+            : "fallback";
+    }
+}
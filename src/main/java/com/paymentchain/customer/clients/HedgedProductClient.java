@@ -0,0 +1,193 @@
+package com.paymentchain.customer.clients;
+
+import com.paymentchain.customer.clients.dto.ProductDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * ProductClient con peticiones de cobertura (hedging) para getProduct.
+ *
+ * Funcionamiento:
+ * 1. Se lanza la llamada principal
+ * 2. Si no ha respondido tras el retardo de cobertura, se lanza una segunda
+ *    (el load balancer round-robin la envía a otra instancia)
+ * 3. Gana la primera respuesta con valor; la otra se cancela. Un error o un
+ *    vacío no gana: una cobertura que falla rápido no cancela la principal
+ * 4. Si la principal termina sin valor antes del retardo no se envía cobertura
+ *    (no es un reintento); si fallan las dos se propaga el error de la principal
+ *
+ * Retardo de cobertura:
+ * - Percentil (p.ej. p95) de la latencia de las últimas llamadas
+ * - Hasta reunir muestras suficientes se usa initialDelay
+ * - Nunca por debajo de minDelay
+ *
+ * Límite de coberturas (token bucket):
+ * - Cada petición aporta maxHedgeRatio fichas; cada cobertura consume una
+ * - Como máximo ~maxHedgeRatio coberturas por petición: durante una caída
+ *   del product service no duplicamos la carga
+ *
+ * Solo getProduct (GET idempotente); getProducts delega sin cobertura.
+ * Sin synchronized: no fija el carrier thread cuando se llama desde hilos virtuales.
+ *
+ * Métricas: customer.product.hedges {result=sent|suppressed}
+ *
+ * @author benas
+ */
+public class HedgedProductClient implements ProductClient {
+
+    private final ProductClient delegate;
+
+    private final LatencyWindow latencies;
+
+    private final HedgeBudget budget;
+
+    private final Counter hedgesSent;
+
+    private final Counter hedgesSuppressed;
+
+    public HedgedProductClient(ProductClient delegate, double percentile, int windowSize,
+            Duration initialDelay, Duration minDelay, double maxHedgeRatio, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.latencies = new LatencyWindow(windowSize, percentile, initialDelay.toNanos(), minDelay.toNanos());
+        this.budget = new HedgeBudget(maxHedgeRatio);
+        this.hedgesSent = Counter.builder("customer.product.hedges")
+            .tag("result", "sent")
+            .register(meterRegistry);
+        this.hedgesSuppressed = Counter.builder("customer.product.hedges")
+            .tag("result", "suppressed")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<ProductDto> getProduct(Long id) {
+        return Mono.defer(() -> {
+            budget.deposit();
+            long start = System.nanoTime();
+
+            AtomicReference<Throwable> primaryError = new AtomicReference<>();
+            Sinks.One<Boolean> primaryEnded = Sinks.one();
+
+            Mono<ProductDto> primary = Mono.defer(() -> delegate.getProduct(id))
+                .doOnError(primaryError::set)
+                .doOnTerminate(() -> primaryEnded.tryEmitValue(true))
+                .doFinally(signal -> latencies.record(System.nanoTime() - start));
+
+            Mono<ProductDto> hedge = Mono.delay(hedgeDelay())
+                .takeUntilOther(primaryEnded.asMono())
+                .flatMap(tick -> {
+                    if (!budget.tryAcquire()) {
+                        hedgesSuppressed.increment();
+                        return Mono.empty(); // Sin cobertura: decide solo la llamada principal
+                    }
+                    hedgesSent.increment();
+                    return delegate.getProduct(id);
+                });
+
+            // Sin valor en ninguna: el resultado es el de la principal (su error o vacío)
+            return Mono.firstWithValue(primary, hedge)
+                .onErrorResume(NoSuchElementException.class, ex -> primaryError.get() != null
+                    ? Mono.error(primaryError.get())
+                    : Mono.empty());
+        });
+    }
+
+    @Override
+    public Flux<ProductDto> getProducts(Collection<Long> ids) {
+        return delegate.getProducts(ids);
+    }
+
+    Duration hedgeDelay() {
+        return Duration.ofNanos(latencies.percentileNanos());
+    }
+
+    /**
+     * Últimas N latencias (buffer circular) y su percentil, recalculado cada REFRESH_EVERY muestras.
+     * Una llamada cancelada cuenta con lo que llevaba esperando (cota inferior).
+     * El lock solo cubre escribir la muestra y copiar la ventana; la ordenación va fuera.
+     */
+    static final class LatencyWindow {
+
+        private static final int REFRESH_EVERY = 32;
+
+        private final long[] samples;
+
+        private final double percentile;
+
+        private final long minNanos;
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private long count;
+
+        private volatile long percentileNanos;
+
+        LatencyWindow(int size, double percentile, long initialNanos, long minNanos) {
+            this.samples = new long[size];
+            this.percentile = percentile;
+            this.minNanos = minNanos;
+            this.percentileNanos = Math.max(initialNanos, minNanos);
+        }
+
+        void record(long nanos) {
+            long[] sorted = null;
+            lock.lock();
+            try {
+                samples[(int) (count % samples.length)] = nanos;
+                count++;
+                if (count >= Math.min(samples.length, REFRESH_EVERY) && count % REFRESH_EVERY == 0) {
+                    sorted = Arrays.copyOf(samples, (int) Math.min(count, samples.length));
+                }
+            } finally {
+                lock.unlock();
+            }
+
+            if (sorted != null) {
+                Arrays.sort(sorted);
+                int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+                percentileNanos = Math.max(minNanos, sorted[Math.max(0, index)]);
+            }
+        }
+
+        long percentileNanos() {
+            return percentileNanos;
+        }
+    }
+
+    /**
+     * Token bucket: ratio fichas por petición, como mucho MAX_TOKENS acumuladas.
+     * Se cuenta en milésimas de ficha para no arrastrar errores de coma flotante.
+     */
+    static final class HedgeBudget {
+
+        private static final long TOKEN = 1000;
+
+        private static final long MAX_TOKENS = 10 * TOKEN;
+
+        private final long deposit;
+
+        private final AtomicLong tokens = new AtomicLong();
+
+        HedgeBudget(double ratio) {
+            this.deposit = Math.round(ratio * TOKEN);
+        }
+
+        void deposit() {
+            tokens.accumulateAndGet(deposit, (current, amount) -> Math.min(MAX_TOKENS, current + amount));
+        }
+
+        boolean tryAcquire() {
+            return tokens.getAndUpdate(current -> current >= TOKEN ? current - TOKEN : current) >= TOKEN;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.paymentchain.customer.clients;
+
+import com.paymentchain.customer.clients.dto.ProductDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+
+/**
+ * ProductClient con métricas de latencia y resultado por llamada (DownstreamCallMetrics).
+ *
+ * @author benas
+ */
+public class MeteredProductClient implements ProductClient {
+
+    private final ProductClient delegate;
+
+    private final DownstreamCallMetrics metrics;
+
+    public MeteredProductClient(ProductClient delegate, DownstreamCallMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Mono<ProductDto> getProduct(Long id) {
+        return metrics.timed("getProduct", Mono.defer(() -> delegate.getProduct(id)));
+    }
+
+    @Override
+    public Flux<ProductDto> getProducts(Collection<Long> ids) {
+        return metrics.timed("getProducts", Flux.defer(() -> delegate.getProducts(ids)));
+    }
+}
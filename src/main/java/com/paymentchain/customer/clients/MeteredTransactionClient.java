@@ -0,0 +1,34 @@
+package com.paymentchain.customer.clients;
+
+import com.paymentchain.customer.clients.dto.TransactionDto;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+/**
+ * TransactionClient con métricas de latencia, resultado y tamaño de respuesta
+ * por llamada (DownstreamCallMetrics).
+ *
+ * @author benas
+ */
+public class MeteredTransactionClient implements TransactionClient {
+
+    private final TransactionClient delegate;
+
+    private final DownstreamCallMetrics metrics;
+
+    public MeteredTransactionClient(TransactionClient delegate, DownstreamCallMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Flux<TransactionDto> getTransactionsByIban(String iban) {
+        return metrics.timed("getTransactionsByIban", Flux.defer(() -> delegate.getTransactionsByIban(iban)));
+    }
+
+    @Override
+    public Flux<TransactionDto> getTransactions(String iban, Integer limit, LocalDate from, LocalDate to) {
+        return metrics.timed("getTransactions", Flux.defer(() -> delegate.getTransactions(iban, limit, from, to)));
+    }
+}
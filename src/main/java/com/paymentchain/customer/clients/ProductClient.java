@@ -1,11 +1,15 @@
 package com.paymentchain.customer.clients;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.paymentchain.customer.clients.dto.ProductDto;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.service.annotation.GetExchange;
 import org.springframework.web.service.annotation.HttpExchange;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 /**
  * Cliente HTTP declarativo para Product Service.
  * 
@@ -25,8 +29,19 @@ public interface ProductClient {
      * Obtiene producto por ID.
      * 
      * @param id ID del producto
-     * @return Mono con JSON del producto
+     * @return Mono con el producto
      */
     @GetExchange("/{id}")
-    Mono<JsonNode> getProduct(@PathVariable Long id);
+    Mono<ProductDto> getProduct(@PathVariable Long id);
+    
+    /**
+     * Obtiene varios productos en una sola llamada.
+     * 
+     * Los IDs que no existen simplemente no aparecen en la respuesta.
+     * 
+     * @param ids IDs de los productos
+     * @return Flux con los productos encontrados
+     */
+    @GetExchange("/batch")
+    Flux<ProductDto> getProducts(@RequestParam("ids") Collection<Long> ids);
 }
\ No newline at end of file
@@ -0,0 +1,187 @@
+package com.paymentchain.customer.clients;
+
+import com.paymentchain.customer.clients.dto.ProductDto;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Agrupa búsquedas de productos concurrentes en llamadas batch.
+ *
+ * Funcionamiento:
+ * 1. Cada getProduct(id) se registra como pendiente
+ * 2. Si ya hay una búsqueda en vuelo para ese ID → se reutiliza (sin nueva llamada)
+ * 3. Los IDs llegados dentro de la ventana (windowMs) se envían juntos
+ *    a ProductClient.getProducts (o getProduct si solo hay uno)
+ * 4. Cada respuesta se reparte a todos los que esperaban ese ID
+ *
+ * La ventana es compartida entre todas las peticiones en curso: muchos
+ * customers con los mismos productos generan una sola llamada.
+ *
+ * Semántica para el llamador (igual que ProductClient.getProduct):
+ * - Producto encontrado → Mono con el producto
+ * - Producto inexistente → Mono vacío
+ * - Fallo de la llamada batch → error para todos los IDs del batch
+ * - No se puede encolar la búsqueda (p.ej. tras stop()) → error, el ID no queda pendiente
+ *
+ * Deshabilitado (por defecto) → delega directamente en ProductClient.
+ *
+ * Las llamadas batch son compartidas y no llevan el deadline de ningún llamador
+ * (sin X-Request-Timeout-Ms); deshabilitado, la llamada hereda el contexto del llamador.
+ *
+ * @author benas
+ */
+@Component
+public class ProductLookupCoalescer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ProductLookupCoalescer.class);
+
+    @Autowired
+    private ProductClient productClient;
+
+    /** Requiere que product service exponga GET /product/batch */
+    @Value("${customer.product-lookup.coalescing.enabled:false}")
+    private boolean enabled;
+
+    @Value("${customer.product-lookup.coalescing.window-ms:5}")
+    private long windowMs;
+
+    @Value("${customer.product-lookup.coalescing.max-batch-size:50}")
+    private int maxBatchSize;
+
+    private final Map<Long, Sinks.One<ProductDto>> pending = new ConcurrentHashMap<>();
+
+    private final Sinks.Many<Long> requests = Sinks.many().unicast().onBackpressureBuffer();
+
+    private Disposable subscription;
+
+    @PostConstruct
+    void start() {
+        if (!enabled) {
+            return;
+        }
+
+        subscription = requests.asFlux()
+            .bufferTimeout(maxBatchSize, Duration.ofMillis(windowMs))
+            .flatMap(this::dispatch)
+            .subscribe();
+
+        LOGGER.info("Product lookup coalescing enabled: window={} ms, maxBatchSize={}",
+            windowMs, maxBatchSize);
+    }
+
+    @PreDestroy
+    void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Obtiene producto por ID, agrupado con otras búsquedas concurrentes.
+     *
+     * @param id ID del producto
+     * @return Mono con el producto (vacío si no existe)
+     */
+    public Mono<ProductDto> getProduct(Long id) {
+        if (!enabled) {
+            return productClient.getProduct(id);
+        }
+
+        return Mono.defer(() -> {
+            Sinks.One<ProductDto> created = Sinks.one();
+            Sinks.One<ProductDto> inFlight = pending.putIfAbsent(id, created);
+
+            if (inFlight != null) {
+                return inFlight.asMono(); // Ya hay una búsqueda en vuelo para este ID
+            }
+
+            try {
+                requests.emitNext(id, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+            } catch (Sinks.EmissionException ex) {
+                // Sin esto el ID quedaría pendiente para siempre y los siguientes llamadores no recibirían respuesta
+                LOGGER.warn("Could not queue product lookup for ID {}: {}", id, ex.getMessage());
+                pending.remove(id, created);
+                created.tryEmitError(ex); // Llamadores que ya se han unido a esta búsqueda
+                return Mono.error(ex);
+            }
+            return created.asMono();
+        });
+    }
+
+    /**
+     * Obtiene varios productos (IDs duplicados se consultan una sola vez).
+     *
+     * @param ids IDs de los productos
+     * @return Flux con los productos encontrados
+     */
+    public Flux<ProductDto> getProducts(Collection<Long> ids) {
+        return Flux.fromIterable(new LinkedHashSet<>(ids))
+            .flatMap(this::getProduct);
+    }
+
+    /**
+     * Envía un batch de IDs y reparte las respuestas a los pendientes.
+     *
+     * @param ids IDs acumulados durante la ventana
+     * @return Mono que completa cuando todos los IDs del batch han sido resueltos
+     */
+    private Mono<Void> dispatch(List<Long> ids) {
+        LOGGER.debug("Dispatching coalesced product lookup for {} IDs", ids.size());
+
+        Flux<ProductDto> call = ids.size() == 1
+            ? productClient.getProduct(ids.get(0))
+                .onErrorResume(WebClientResponseException.NotFound.class, ex -> Mono.empty()) // Igual que el batch
+                .flux()
+            : productClient.getProducts(ids);
+
+        return call
+            .filter(product -> ids.size() == 1 || product.id() != null)
+            .doOnNext(product -> complete(ids.size() == 1 ? ids.get(0) : product.id(), product))
+            .then()
+            .doOnSuccess(done -> ids.forEach(id -> complete(id, null))) // No devueltos → inexistentes
+            .onErrorResume(ex -> {
+                LOGGER.error("Coalesced product lookup failed for IDs {}: {}", ids, ex.getMessage());
+                ids.forEach(id -> fail(id, ex));
+                return Mono.empty();
+            });
+    }
+
+    private void complete(Long id, ProductDto product) {
+        Sinks.One<ProductDto> sink = pending.remove(id);
+
+        if (sink == null) {
+            return;
+        }
+
+        if (product == null) {
+            sink.tryEmitEmpty();
+        } else {
+            sink.tryEmitValue(product);
+        }
+    }
+
+    private void fail(Long id, Throwable ex) {
+        Sinks.One<ProductDto> sink = pending.remove(id);
+
+        if (sink != null) {
+            sink.tryEmitError(ex);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.paymentchain.customer.clients;
+
+import com.paymentchain.customer.clients.dto.ProductDto;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collection;
+
+/**
+ * ProductClient protegido con circuit breaker y bulkhead.
+ *
+ * Orden (de fuera a dentro):
+ * - Circuit breaker: con el circuito abierto falla al instante (CallNotPermittedException)
+ *   y los fallbacks existentes (nombre null, error 1025...) se aplican sin esperar
+ * - Bulkhead: limita las llamadas simultáneas al product service
+ * - Timeout: corta la llamada dentro del circuit breaker para que cuente como fallo
+ *   (un timeout externo solo cancela y no se registra)
+ *
+ * @author benas
+ */
+public class ResilientProductClient implements ProductClient {
+
+    private final ProductClient delegate;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final Bulkhead bulkhead;
+
+    private final Duration callTimeout;
+
+    public ResilientProductClient(ProductClient delegate, CircuitBreaker circuitBreaker,
+            Bulkhead bulkhead, Duration callTimeout) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.callTimeout = callTimeout;
+    }
+
+    @Override
+    public Mono<ProductDto> getProduct(Long id) {
+        return Mono.defer(() -> delegate.getProduct(id))
+            .timeout(callTimeout)
+            .transformDeferred(BulkheadOperator.of(bulkhead))
+            .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    @Override
+    public Flux<ProductDto> getProducts(Collection<Long> ids) {
+        return Flux.defer(() -> delegate.getProducts(ids))
+            .timeout(callTimeout)
+            .transformDeferred(BulkheadOperator.of(bulkhead))
+            .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+}
@@ -0,0 +1,54 @@
+package com.paymentchain.customer.clients;
+
+import com.paymentchain.customer.clients.dto.TransactionDto;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDate;
+
+/**
+ * TransactionClient protegido con circuit breaker y bulkhead.
+ *
+ * Mismo esquema que ResilientProductClient. El timeout se aplica entre elementos
+ * del Flux: una respuesta larga que sigue llegando no se corta.
+ *
+ * @author benas
+ */
+public class ResilientTransactionClient implements TransactionClient {
+
+    private final TransactionClient delegate;
+
+    private final CircuitBreaker circuitBreaker;
+
+    private final Bulkhead bulkhead;
+
+    private final Duration callTimeout;
+
+    public ResilientTransactionClient(TransactionClient delegate, CircuitBreaker circuitBreaker,
+            Bulkhead bulkhead, Duration callTimeout) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+        this.callTimeout = callTimeout;
+    }
+
+    @Override
+    public Flux<TransactionDto> getTransactionsByIban(String iban) {
+        return Flux.defer(() -> delegate.getTransactionsByIban(iban))
+            .timeout(callTimeout)
+            .transformDeferred(BulkheadOperator.of(bulkhead))
+            .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+
+    @Override
+    public Flux<TransactionDto> getTransactions(String iban, Integer limit, LocalDate from, LocalDate to) {
+        return Flux.defer(() -> delegate.getTransactions(iban, limit, from, to))
+            .timeout(callTimeout)
+            .transformDeferred(BulkheadOperator.of(bulkhead))
+            .transformDeferred(CircuitBreakerOperator.of(circuitBreaker));
+    }
+}
@@ -1,11 +1,14 @@
 package com.paymentchain.customer.clients;
 
-import com.fasterxml.jackson.databind.JsonNode;
+import com.paymentchain.customer.clients.dto.TransactionDto;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.service.annotation.GetExchange;
 import org.springframework.web.service.annotation.HttpExchange;
 import reactor.core.publisher.Flux;
 
+import java.time.LocalDate;
+
 /**
  * Cliente HTTP declarativo para Transaction Service.
  * 
@@ -18,8 +21,26 @@ public interface TransactionClient {
      * Obtiene transacciones por IBAN.
      * 
      * @param iban IBAN de la cuenta
-     * @return Flux de transacciones en formato JSON
+     * @return Flux de transacciones
+     */
+    @GetExchange("/transaction")
+    Flux<TransactionDto> getTransactionsByIban(@RequestParam("accountIban") String iban);
+    
+    /**
+     * Obtiene transacciones por IBAN con límite y rango de fechas aplicados
+     * en transaction service (los parámetros null no se envían).
+     * 
+     * @param iban IBAN de la cuenta
+     * @param limit Máximo de transacciones a devolver
+     * @param from Fecha inicial (inclusive, ISO yyyy-MM-dd)
+     * @param to Fecha final (inclusive, ISO yyyy-MM-dd)
+     * @return Flux de transacciones
      */
     @GetExchange("/transaction")
-    Flux<JsonNode> getTransactionsByIban(@RequestParam("accountIban") String iban);
+    Flux<TransactionDto> getTransactions(@RequestParam("accountIban") String iban,
+                                   @RequestParam(name = "limit", required = false) Integer limit,
+                                   @RequestParam(name = "from", required = false)
+                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                   @RequestParam(name = "to", required = false)
+                                   @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to);
 }
\ No newline at end of file
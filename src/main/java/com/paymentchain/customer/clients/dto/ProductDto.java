@@ -0,0 +1,15 @@
+package com.paymentchain.customer.clients.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
+/**
+ * Producto tal como lo devuelve product service, proyectado a los campos que usamos.
+ *
+ * Jackson decodifica directamente al record: los campos desconocidos se saltan
+ * a nivel de token, sin construir un árbol JsonNode intermedio.
+ *
+ * @author benas
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+public record ProductDto(Long id, String name) {
+}
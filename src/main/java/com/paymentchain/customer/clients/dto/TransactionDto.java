@@ -0,0 +1,63 @@
+package com.paymentchain.customer.clients.dto;
+
+import com.fasterxml.jackson.annotation.JsonAnyGetter;
+import com.fasterxml.jackson.annotation.JsonAnySetter;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Transacción tal como la devuelve transaction service.
+ *
+ * - Los campos conocidos se decodifican directamente (sin árbol intermedio)
+ * - Los campos que este servicio no modela se guardan en otherFields como tokens
+ *   (TokenBuffer, sin construir un árbol JsonNode por campo) y se devuelven tal cual
+ *   en nuestras respuestas (mismo contrato que el JSON original)
+ * - date se mantiene tal cual la envía transaction service (sin reformatear)
+ * - Los campos null se escriben como null, igual que los envía transaction service
+ *
+ * @author benas
+ */
+@Data
+@NoArgsConstructor
+public class TransactionDto {
+
+    private Long id;
+    private String reference;
+    private String accountIban;
+    private String date;
+    private BigDecimal amount;
+    private BigDecimal fee;
+    private String description;
+    private String status;
+    private String channel;
+
+    private final Map<String, TokenBuffer> otherFields = new LinkedHashMap<>();
+
+    public TransactionDto(Long id, String reference, String accountIban, String date, BigDecimal amount,
+                          BigDecimal fee, String description, String status, String channel) {
+        this.id = id;
+        this.reference = reference;
+        this.accountIban = accountIban;
+        this.date = date;
+        this.amount = amount;
+        this.fee = fee;
+        this.description = description;
+        this.status = status;
+        this.channel = channel;
+    }
+
+    @JsonAnyGetter
+    public Map<String, TokenBuffer> getOtherFields() {
+        return otherFields;
+    }
+
+    @JsonAnySetter
+    public void setOtherField(String name, TokenBuffer value) {
+        otherFields.put(name, value);
+    }
+}
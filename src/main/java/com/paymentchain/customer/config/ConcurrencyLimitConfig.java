@@ -0,0 +1,101 @@
+package com.paymentchain.customer.config;
+
+import com.paymentchain.customer.limits.ConcurrencyLimitInterceptor;
+import com.paymentchain.customer.limits.GradientLimiter;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.Set;
+
+/**
+ * Límites de concurrencia adaptativos delante de CustomerRestController.
+ *
+ * Grupos (límite independiente cada uno):
+ * - full: /customer/full, /customer/full/reactive
+ *   (caros: base de datos + product y transaction service)
+ * - full-stream: /customer/full/stream (respuestas largas: no deben hundir el límite de full)
+ * - full-bulk: /customer/full/bulk (hasta cientos de codes por petición)
+ * - by-id: GET /customer/{id} (una consulta local)
+ * El resto de endpoints (listados, importación, check, PUT/DELETE, webhook
+ * /customer/product-events) no se limitan.
+ *
+ * Configuración (customer.concurrency-limit.{full|full-stream|full-bulk|by-id}.*):
+ * initial-limit, min-limit, max-limit, tolerance, smoothing, window-size.
+ * customer.concurrency-limit.retry-after-seconds: valor de Retry-After en los 503.
+ * customer.concurrency-limit.enabled=false desactiva el limitador.
+ *
+ * Métricas: customer.concurrency.limit, customer.concurrency.inflight (gauges)
+ * y customer.concurrency.rejected (contador), todas con tag group.
+ *
+ * @author benas
+ */
+@Configuration
+@ConditionalOnProperty(name = "customer.concurrency-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+
+    public static final String FULL = "full";
+
+    public static final String FULL_STREAM = "full-stream";
+
+    public static final String FULL_BULK = "full-bulk";
+
+    public static final String BY_ID = "by-id";
+
+    @Autowired
+    private Environment environment;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor(FULL, 20, 200))
+            .addPathPatterns("/customer/full", "/customer/full/**")
+            .excludePathPatterns("/customer/full/stream", "/customer/full/bulk");
+
+        registry.addInterceptor(interceptor(FULL_STREAM, 10, 50))
+            .addPathPatterns("/customer/full/stream");
+
+        registry.addInterceptor(interceptor(FULL_BULK, 4, 20))
+            .addPathPatterns("/customer/full/bulk");
+
+        registry.addInterceptor(interceptor(BY_ID, 100, 1000, HttpMethod.GET))
+            .addPathPatterns("/customer/{id}")
+            .excludePathPatterns("/customer/full", "/customer/all", "/customer/check", "/customer/import",
+                "/customer/product-events");
+    }
+
+    private ConcurrencyLimitInterceptor interceptor(String group, int defaultInitial, int defaultMax,
+            HttpMethod... methods) {
+        String prefix = "customer.concurrency-limit." + group + ".";
+        GradientLimiter limiter = new GradientLimiter(
+            environment.getProperty(prefix + "initial-limit", Integer.class, defaultInitial),
+            environment.getProperty(prefix + "min-limit", Integer.class, 4),
+            environment.getProperty(prefix + "max-limit", Integer.class, defaultMax),
+            environment.getProperty(prefix + "tolerance", Double.class, 1.5),
+            environment.getProperty(prefix + "smoothing", Double.class, 0.2),
+            environment.getProperty(prefix + "window-size", Integer.class, 10));
+
+        Gauge.builder("customer.concurrency.limit", limiter, GradientLimiter::getLimit)
+            .tag("group", group)
+            .register(meterRegistry);
+        Gauge.builder("customer.concurrency.inflight", limiter, GradientLimiter::getInflight)
+            .tag("group", group)
+            .register(meterRegistry);
+        Counter rejected = Counter.builder("customer.concurrency.rejected")
+            .tag("group", group)
+            .register(meterRegistry);
+
+        return new ConcurrencyLimitInterceptor(group, limiter, rejected,
+            environment.getProperty("customer.concurrency-limit.retry-after-seconds", Integer.class, 1),
+            Set.of(methods));
+    }
+}
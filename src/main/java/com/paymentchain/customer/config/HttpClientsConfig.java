@@ -1,10 +1,24 @@
 package com.paymentchain.customer.config;
 
+import com.paymentchain.customer.clients.DownstreamCallMetrics;
+import com.paymentchain.customer.clients.HedgedProductClient;
+import com.paymentchain.customer.clients.MeteredProductClient;
+import com.paymentchain.customer.clients.MeteredTransactionClient;
 import com.paymentchain.customer.clients.ProductClient;
+import com.paymentchain.customer.clients.ResilientProductClient;
+import com.paymentchain.customer.clients.ResilientTransactionClient;
 import com.paymentchain.customer.clients.TransactionClient;
+import com.paymentchain.customer.deadline.DeadlineExchangeFilter;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.observation.ObservationRegistry;
 import io.netty.channel.ChannelOption;
 import io.netty.handler.timeout.ReadTimeoutHandler;
 import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -12,7 +26,9 @@ import org.springframework.http.client.reactive.ReactorClientHttpConnector;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.support.WebClientAdapter;
 import org.springframework.web.service.invoker.HttpServiceProxyFactory;
+import reactor.netty.http.HttpProtocol;
 import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
 
 import java.time.Duration;
 import java.util.concurrent.TimeUnit;
@@ -25,54 +41,93 @@ import java.util.concurrent.TimeUnit;
  * @author benas
  */
 @Configuration
+@EnableConfigurationProperties(HttpClientsProperties.class)
 public class HttpClientsConfig {
     
     /**
-     * HttpClient base con timeouts configurados.
+     * WebClient.Builder con Load Balancer habilitado.
      * 
-     * Configuración de timeouts:
-     * - Connection timeout: 5s (tiempo para establecer conexión TCP)
-     * - Response timeout: 5s (tiempo máximo esperando respuesta completa)
-     * - Read timeout: 5s (tiempo entre bytes leídos)
-     * - Write timeout: 5s (tiempo para escribir request)
+     * @LoadBalanced: permite usar nombres de servicio de Eureka
+     * Ejemplo: "http://BUSINESSDOMAIN-PRODUCT" → Eureka resuelve la IP real
      * 
-     * Estos valores evitan que requests colgados bloqueen el sistema.
+     * Sin conector propio: cada cliente lo clona y le asigna su HttpClient (su pool).
+     * Todas las llamadas propagan el deadline de la petición (DeadlineExchangeFilter)
+     * y generan un span http.client.requests con traceparent en las cabeceras (TracingConfig).
      */
     @Bean
-    public HttpClient httpClient() {
-        return HttpClient.create()
-            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
-            .responseTimeout(Duration.ofSeconds(5))
-            .doOnConnected(conn -> {
-                conn.addHandlerLast(new ReadTimeoutHandler(5000, TimeUnit.MILLISECONDS));
-                conn.addHandlerLast(new WriteTimeoutHandler(5000, TimeUnit.MILLISECONDS));
-            });
+    @LoadBalanced
+    public WebClient.Builder loadBalancedWebClientBuilder(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return WebClient.builder()
+            .observationRegistry(observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP))
+            .filter(new DeadlineExchangeFilter());
     }
     
     /**
-     * WebClient.Builder con Load Balancer habilitado.
+     * HttpClient con pool de conexiones dedicado para un downstream.
      * 
-     * @LoadBalanced: permite usar nombres de servicio de Eureka
-     * Ejemplo: "http://BUSINESSDOMAIN-PRODUCT" → Eureka resuelve la IP real
+     * Configuración (customer.http.clients.{product|transaction}.*):
+     * - Pool: máximo de conexiones, cola de espera acotada, expulsión de
+     *   conexiones ociosas/caducadas en segundo plano
+     * - Timeouts: conexión, respuesta completa, lectura y escritura
+     * - Opcional: HTTP/2 (h2c) multiplexando peticiones sobre pocas conexiones
+     * - Keep-alive HTTP y TCP
+     * 
+     * Métricas del pool (reactor.netty.connection.provider.*{name=...}):
+     * conexiones activas, ociosas, totales, pendientes y tiempo de adquisición.
      */
-    @Bean
-    @LoadBalanced
-    public WebClient.Builder loadBalancedWebClientBuilder(HttpClient httpClient) {
-        return WebClient.builder()
-            .clientConnector(new ReactorClientHttpConnector(httpClient));
+    static HttpClient httpClient(String name, HttpClientsProperties.Pool pool) {
+        ConnectionProvider provider = ConnectionProvider.builder(name)
+            .maxConnections(pool.getMaxConnections())
+            .pendingAcquireMaxCount(pool.getPendingAcquireMaxCount())
+            .pendingAcquireTimeout(Duration.ofMillis(pool.getPendingAcquireTimeoutMs()))
+            .maxIdleTime(Duration.ofMillis(pool.getMaxIdleTimeMs()))
+            .maxLifeTime(Duration.ofMillis(pool.getMaxLifeTimeMs()))
+            .evictInBackground(Duration.ofMillis(pool.getEvictInBackgroundMs()))
+            .metrics(true)
+            .build();
+        
+        HttpClient httpClient = HttpClient.create(provider)
+            .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, pool.getConnectTimeoutMs())
+            .option(ChannelOption.SO_KEEPALIVE, pool.isKeepAlive())
+            .keepAlive(pool.isKeepAlive())
+            .responseTimeout(Duration.ofMillis(pool.getResponseTimeoutMs()))
+            .doOnConnected(conn -> {
+                conn.addHandlerLast(new ReadTimeoutHandler(pool.getResponseTimeoutMs(), TimeUnit.MILLISECONDS));
+                conn.addHandlerLast(new WriteTimeoutHandler(pool.getResponseTimeoutMs(), TimeUnit.MILLISECONDS));
+            });
+        
+        if (pool.isH2()) {
+            httpClient = httpClient.protocol(HttpProtocol.H2C, HttpProtocol.HTTP11);
+        }
+        
+        return httpClient;
     }
     
     /**
      * Cliente para Product Service.
      * 
      * Pasos:
-     * 1. Crea WebClient con baseUrl del servicio
+     * 1. Crea WebClient con baseUrl del servicio y su propio pool de conexiones
      * 2. Crea factory que genera implementación de interfaces
-     * 3. Retorna proxy de ProductClient
+     * 3. Opcional: peticiones de cobertura para getProduct (customer.product-lookup.hedging.*)
+     * 4. Envuelve el proxy con circuit breaker y bulkhead (ResilienceConfig);
+     *    principal y cobertura cuentan como una sola llamada
+     * 5. Métricas por llamada (customer.downstream.calls {client=product}),
+     *    por fuera de todo: incluyen esperas y rechazos de la capa de resiliencia
      */
     @Bean
-    public ProductClient productClient(WebClient.Builder builder) {
-        WebClient webClient = builder
+    public ProductClient productClient(WebClient.Builder builder, HttpClientsProperties properties,
+            CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${customer.resilience.product.call-timeout-ms:2000}") long callTimeoutMs,
+            @Value("${customer.product-lookup.hedging.enabled:false}") boolean hedgingEnabled,
+            @Value("${customer.product-lookup.hedging.percentile:95}") double hedgePercentile,
+            @Value("${customer.product-lookup.hedging.window-size:256}") int hedgeWindowSize,
+            @Value("${customer.product-lookup.hedging.initial-delay-ms:100}") long hedgeInitialDelayMs,
+            @Value("${customer.product-lookup.hedging.min-delay-ms:10}") long hedgeMinDelayMs,
+            @Value("${customer.product-lookup.hedging.max-ratio:0.1}") double maxHedgeRatio) {
+        WebClient webClient = builder.clone()
+            .clientConnector(new ReactorClientHttpConnector(httpClient("product", properties.getProduct())))
             .baseUrl("http://BUSINESSDOMAIN-PRODUCT")
             .build();
 
@@ -80,16 +135,33 @@ public class HttpClientsConfig {
             .builderFor(WebClientAdapter.create(webClient)) // ✅ usa builderFor + create()
             .build();
 
-        return factory.createClient(ProductClient.class);
+        ProductClient productClient = factory.createClient(ProductClient.class);
+        if (hedgingEnabled) {
+            productClient = new HedgedProductClient(productClient, hedgePercentile, hedgeWindowSize,
+                Duration.ofMillis(hedgeInitialDelayMs), Duration.ofMillis(hedgeMinDelayMs),
+                maxHedgeRatio, meterRegistry);
+        }
+
+        ProductClient resilient = new ResilientProductClient(
+            productClient,
+            circuitBreakerRegistry.circuitBreaker(ResilienceConfig.PRODUCT),
+            bulkheadRegistry.bulkhead(ResilienceConfig.PRODUCT),
+            Duration.ofMillis(callTimeoutMs));
+
+        return new MeteredProductClient(resilient, new DownstreamCallMetrics(ResilienceConfig.PRODUCT, meterRegistry));
     }
 
     
     /**
-     * Cliente para Transaction Service.
+     * Cliente para Transaction Service (con circuit breaker, bulkhead y métricas por llamada).
      */
     @Bean
-    public TransactionClient transactionClient(WebClient.Builder builder) {
-        WebClient webClient = builder
+    public TransactionClient transactionClient(WebClient.Builder builder, HttpClientsProperties properties,
+            CircuitBreakerRegistry circuitBreakerRegistry, BulkheadRegistry bulkheadRegistry,
+            MeterRegistry meterRegistry,
+            @Value("${customer.resilience.transaction.call-timeout-ms:3000}") long callTimeoutMs) {
+        WebClient webClient = builder.clone()
+            .clientConnector(new ReactorClientHttpConnector(httpClient("transaction", properties.getTransaction())))
             .baseUrl("http://BUSINESSDOMAIN-TRANSACTION")
             .build();
         
@@ -97,6 +169,13 @@ public class HttpClientsConfig {
             .builderFor(WebClientAdapter.create(webClient))
             .build();
         
-        return factory.createClient(TransactionClient.class);
+        TransactionClient resilient = new ResilientTransactionClient(
+            factory.createClient(TransactionClient.class),
+            circuitBreakerRegistry.circuitBreaker(ResilienceConfig.TRANSACTION),
+            bulkheadRegistry.bulkhead(ResilienceConfig.TRANSACTION),
+            Duration.ofMillis(callTimeoutMs));
+
+        return new MeteredTransactionClient(resilient,
+            new DownstreamCallMetrics(ResilienceConfig.TRANSACTION, meterRegistry));
     }
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.paymentchain.customer.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Pools de conexiones HTTP por servicio downstream.
+ *
+ * Cada downstream (product, transaction) tiene su propio pool: un pico de
+ * llamadas a uno no deja sin conexiones al otro.
+ *
+ * Ejemplo:
+ * customer.http.clients.product.max-connections=100
+ * customer.http.clients.transaction.h2=true
+ *
+ * @author benas
+ */
+@Data
+@ConfigurationProperties(prefix = "customer.http.clients")
+public class HttpClientsProperties {
+
+    private Pool product = new Pool();
+
+    private Pool transaction = new Pool();
+
+    @Data
+    public static class Pool {
+
+        /** Conexiones simultáneas máximas (con h2: conexiones, cada una con varios streams) */
+        private int maxConnections = 50;
+
+        /** Peticiones esperando conexión libre antes de rechazar */
+        private int pendingAcquireMaxCount = 200;
+
+        /** Tiempo máximo esperando conexión libre */
+        private long pendingAcquireTimeoutMs = 2000;
+
+        /** Conexión ociosa más tiempo que esto → se cierra */
+        private long maxIdleTimeMs = 30000;
+
+        /** Vida máxima de una conexión (reparte carga tras cambios en Eureka) */
+        private long maxLifeTimeMs = 300000;
+
+        /** Intervalo de limpieza en segundo plano de conexiones ociosas/caducadas */
+        private long evictInBackgroundMs = 30000;
+
+        /** HTTP/2 en claro (h2c) con fallback a HTTP/1.1 */
+        private boolean h2 = false;
+
+        /** Reutiliza conexiones (HTTP keep-alive) y activa SO_KEEPALIVE en TCP */
+        private boolean keepAlive = true;
+
+        private int connectTimeoutMs = 5000;
+
+        private long responseTimeoutMs = 5000;
+    }
+}
@@ -0,0 +1,33 @@
+package com.paymentchain.customer.config;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Inserts y updates por lotes JDBC.
+ *
+ * - batch_size igual al allocationSize de las secuencias (50): cada lote de
+ *   inserts necesita como mucho una llamada a la secuencia
+ * - order_inserts / order_updates: agrupa las sentencias por tabla para que
+ *   customers y customer_products no se intercalen y rompan el lote
+ *
+ * Valores explícitos en spring.jpa.properties.* tienen prioridad.
+ *
+ * @author benas
+ */
+@Configuration
+public class JdbcBatchingConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer jdbcBatchingCustomizer(
+            @Value("${customer.jdbc.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+}
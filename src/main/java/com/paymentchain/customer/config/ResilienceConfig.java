@@ -0,0 +1,116 @@
+package com.paymentchain.customer.config;
+
+import com.paymentchain.customer.deadline.DeadlineExceededException;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.time.Duration;
+
+/**
+ * Circuit breakers y bulkheads por servicio downstream (product, transaction).
+ *
+ * Configuración (customer.resilience.{product|transaction}.*):
+ * - failure-rate-threshold / slow-call-rate-threshold: % de fallos o llamadas lentas que abre el circuito
+ * - slow-call-duration-ms: a partir de cuánto una llamada cuenta como lenta
+ *   (transaction: 10s por defecto, /customer/full/stream mantiene la llamada abierta mientras emite)
+ * - sliding-window-size / minimum-number-of-calls: ventana de llamadas evaluada
+ * - open-state-ms / half-open-calls: tiempo abierto y llamadas de prueba al semiabrir
+ * - max-concurrent-calls / max-wait-ms: bulkhead (llamadas simultáneas por downstream)
+ *
+ * Métricas en /actuator/metrics:
+ * - resilience4j.circuitbreaker.* y resilience4j.bulkhead.* (estado, llamadas, permisos)
+ * - customer.downstream.circuitbreaker.transitions (name, from, to)
+ *
+ * @author benas
+ */
+@Configuration
+public class ResilienceConfig {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ResilienceConfig.class);
+
+    public static final String PRODUCT = "product";
+
+    public static final String TRANSACTION = "transaction";
+
+    private static final String PREFIX = "customer.resilience.";
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(Environment environment, MeterRegistry meterRegistry) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.ofDefaults();
+
+        for (String name : new String[]{PRODUCT, TRANSACTION}) {
+            CircuitBreaker circuitBreaker = registry.circuitBreaker(name, circuitBreakerConfig(environment, name));
+            circuitBreaker.getEventPublisher().onStateTransition(event -> {
+                LOGGER.warn("Circuit breaker {} transition {}", name, event.getStateTransition());
+                Counter.builder("customer.downstream.circuitbreaker.transitions")
+                    .tag("name", name)
+                    .tag("from", event.getStateTransition().getFromState().name())
+                    .tag("to", event.getStateTransition().getToState().name())
+                    .register(meterRegistry)
+                    .increment();
+            });
+        }
+
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(Environment environment, MeterRegistry meterRegistry) {
+        BulkheadRegistry registry = BulkheadRegistry.ofDefaults();
+
+        for (String name : new String[]{PRODUCT, TRANSACTION}) {
+            registry.bulkhead(name, BulkheadConfig.custom()
+                .maxConcurrentCalls(property(environment, name, "max-concurrent-calls", 25))
+                .maxWaitDuration(Duration.ofMillis(property(environment, name, "max-wait-ms", 0)))
+                .build());
+        }
+
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry;
+    }
+
+    /**
+     * Solo cuentan como fallo del downstream los 5xx, timeouts y errores de conexión.
+     * No abren el circuito:
+     * - Llamadas rechazadas por el bulkhead o cortadas por el deadline de la petición
+     * - Respuestas 4xx (p.ej. 404 de un producto inexistente): el servicio responde bien
+     */
+    static CircuitBreakerConfig circuitBreakerConfig(Environment environment, String name) {
+        return CircuitBreakerConfig.custom()
+            .failureRateThreshold(property(environment, name, "failure-rate-threshold", 50))
+            .slowCallRateThreshold(property(environment, name, "slow-call-rate-threshold", 50))
+            .slowCallDurationThreshold(Duration.ofMillis(property(environment, name, "slow-call-duration-ms",
+                TRANSACTION.equals(name) ? 10000 : 1000)))
+            .slidingWindowSize(property(environment, name, "sliding-window-size", 20))
+            .minimumNumberOfCalls(property(environment, name, "minimum-number-of-calls", 10))
+            .waitDurationInOpenState(Duration.ofMillis(property(environment, name, "open-state-ms", 10000)))
+            .permittedNumberOfCallsInHalfOpenState(property(environment, name, "half-open-calls", 3))
+            .ignoreException(ResilienceConfig::isIgnoredFailure)
+            .build();
+    }
+
+    private static boolean isIgnoredFailure(Throwable ex) {
+        return ex instanceof BulkheadFullException
+            || ex instanceof DeadlineExceededException
+            || ex instanceof WebClientResponseException response && response.getStatusCode().is4xxClientError();
+    }
+
+    private static int property(Environment environment, String name, String key, int defaultValue) {
+        return environment.getProperty(PREFIX + name + "." + key, Integer.class, defaultValue);
+    }
+}
@@ -0,0 +1,41 @@
+package com.paymentchain.customer.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Schedulers de Reactor para trabajo bloqueante dentro de flujos reactivos.
+ *
+ * JPA/JDBC es bloqueante: en los endpoints reactivos las consultas se
+ * desplazan a un scheduler acotado en lugar de ocupar hilos de Netty o Tomcat.
+ *
+ * @author benas
+ */
+@Configuration
+public class SchedulersConfig {
+
+    /**
+     * Scheduler para accesos a base de datos.
+     *
+     * Configuración:
+     * - threads: igual o menor que el pool de conexiones JDBC (más hilos solo esperarían conexión)
+     * - queue-size: tareas en espera antes de rechazar (protege memoria ante picos)
+     * - spring.threads.virtual.enabled: los hilos del scheduler pasan a ser virtuales
+     */
+    @Bean(destroyMethod = "dispose")
+    public Scheduler jpaScheduler(
+            @Value("${customer.reactive.jpa-threads:10}") int threads,
+            @Value("${customer.reactive.jpa-queue-size:1000}") int queueSize,
+            @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
+        if (virtualThreads) {
+            ThreadFactory factory = Thread.ofVirtual().name("jpa-", 0).factory();
+            return Schedulers.newBoundedElastic(threads, queueSize, factory, 60);
+        }
+        return Schedulers.newBoundedElastic(threads, queueSize, "jpa");
+    }
+}
@@ -0,0 +1,101 @@
+package com.paymentchain.customer.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Comprueba al arrancar que existen los índices de los que dependen las consultas calientes.
+ *
+ * Índices esperados en CUSTOMER:
+ * - code (único) → findByCode / findWithProductsByCode (/customer/full)
+ * - iban → findByIban
+ *
+ * Sin ellos cada lookup es un full scan. Por defecto solo se registra un error;
+ * con customer.schema-check.fail-on-missing=true el arranque falla.
+ *
+ * @author benas
+ */
+@Component
+public class SchemaIndexCheck {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SchemaIndexCheck.class);
+
+    private static final String TABLE = "customer";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${customer.schema-check.enabled:true}")
+    private boolean enabled;
+
+    @Value("${customer.schema-check.fail-on-missing:false}")
+    private boolean failOnMissing;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void verify() {
+        if (!enabled) {
+            return;
+        }
+
+        Map<String, Boolean> indexedColumns;
+        try (Connection connection = dataSource.getConnection()) {
+            indexedColumns = indexedColumns(connection.getMetaData());
+        } catch (SQLException ex) {
+            LOGGER.warn("Schema index check skipped: {}", ex.getMessage());
+            return;
+        }
+
+        boolean codeUnique = Boolean.TRUE.equals(indexedColumns.get("code"));
+        boolean ibanIndexed = indexedColumns.containsKey("iban");
+
+        if (codeUnique && ibanIndexed) {
+            LOGGER.info("Schema index check passed: unique index on {}.code, index on {}.iban", TABLE, TABLE);
+            return;
+        }
+
+        String message = String.format("Missing indexes on table %s: code unique=%s, iban indexed=%s",
+            TABLE, codeUnique, ibanIndexed);
+
+        if (failOnMissing) {
+            throw new IllegalStateException(message);
+        }
+        LOGGER.error(message);
+    }
+
+    /**
+     * Columnas que encabezan algún índice → true si alguno de ellos es único.
+     * Prueba el nombre de tabla en minúsculas y mayúsculas (PostgreSQL vs H2).
+     */
+    private Map<String, Boolean> indexedColumns(DatabaseMetaData metaData) throws SQLException {
+        Map<String, Boolean> columns = new HashMap<>();
+
+        for (String table : new String[]{TABLE, TABLE.toUpperCase(Locale.ROOT)}) {
+            try (ResultSet indexes = metaData.getIndexInfo(null, null, table, false, false)) {
+                while (indexes.next()) {
+                    String column = indexes.getString("COLUMN_NAME");
+                    if (column == null || indexes.getShort("ORDINAL_POSITION") != 1) {
+                        continue;
+                    }
+                    boolean unique = !indexes.getBoolean("NON_UNIQUE");
+                    columns.merge(column.toLowerCase(Locale.ROOT), unique, Boolean::logicalOr);
+                }
+            }
+        }
+
+        return columns;
+    }
+}
@@ -0,0 +1,41 @@
+package com.paymentchain.customer.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Cache de segundo nivel de Hibernate para Customer y CustomerProduct.
+ *
+ * Se activa con customer.second-level-cache.enabled=true (desactivada por defecto).
+ *
+ * Estrategia:
+ * - Regiones de entidad y de la colección products con READ_WRITE: put/delete del
+ *   controller pasan por Hibernate, que actualiza o invalida las entradas al hacer commit
+ * - Query cache para findByCode / findWithProductsByCode / findWithProductsById: se
+ *   invalida sola cuando cambia cualquier fila de las tablas consultadas (update timestamps)
+ * - Proveedor JCache sobre Caffeine; tamaños y expiración en application.conf
+ * - Estadísticas activas para exponer hits/misses por región en /actuator/metrics
+ *
+ * @author benas
+ */
+@Configuration
+@ConditionalOnProperty(name = "customer.second-level-cache.enabled", havingValue = "true")
+public class SecondLevelCacheConfig {
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer() {
+        return properties -> {
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.PROVIDER, CaffeineCachingProvider.class.getName());
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+}
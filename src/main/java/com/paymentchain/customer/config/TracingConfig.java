@@ -0,0 +1,93 @@
+package com.paymentchain.customer.config;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import io.opentelemetry.exporter.logging.otlp.OtlpJsonLoggingSpanExporter;
+import io.opentelemetry.sdk.trace.export.SpanExporter;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+
+/**
+ * Trazas distribuidas (Micrometer Tracing sobre OpenTelemetry).
+ *
+ * Spans por petición /customer/full:
+ * - Controller: http.server.requests (automático en Spring MVC)
+ * - Repositorio: customer.repository {repository, method}, uno por llamada
+ *   a cualquier método de un repositorio Spring Data
+ * - Downstream: http.client.requests por cada llamada de ProductClient /
+ *   TransactionClient, con traceparent en las cabeceras salientes
+ *   (WebClient.Builder con ObservationRegistry, ver HttpClientsConfig)
+ *
+ * Exportación:
+ * - OTLP/HTTP si management.otlp.tracing.endpoint está definido
+ *   (p.ej. http://localhost:4318/v1/traces para un collector local)
+ * - customer.tracing.log-exporter.enabled=true: spans en JSON OTLP en el log,
+ *   para inspeccionarlos sin collector
+ *
+ * Muestreo: management.tracing.sampling.probability (bootstrap.yml, 10% por defecto).
+ *
+ * @author benas
+ */
+@Configuration
+public class TracingConfig {
+
+    static final String REPOSITORY_OBSERVATION = "customer.repository";
+
+    /**
+     * Añade a cada repositorio Spring Data un interceptor que abre una observación
+     * por llamada (span con el nombre del repositorio y del método).
+     *
+     * Métodos que devuelven Stream: el span cubre la apertura de la consulta,
+     * no el recorrido de los resultados.
+     */
+    @Bean
+    static BeanPostProcessor repositoryObservationPostProcessor(ObjectProvider<ObservationRegistry> observationRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory ->
+                        factory.addRepositoryProxyPostProcessor((proxyFactory, repositoryInformation) ->
+                            proxyFactory.addAdvice(repositoryObservation(
+                                repositoryInformation.getRepositoryInterface().getSimpleName(),
+                                observationRegistry))));
+                }
+                return bean;
+            }
+        };
+    }
+
+    private static MethodInterceptor repositoryObservation(String repository,
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        return invocation -> {
+            ObservationRegistry registry = observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP);
+            Observation observation = Observation.createNotStarted(REPOSITORY_OBSERVATION, registry)
+                .contextualName(repository + "." + invocation.getMethod().getName())
+                .lowCardinalityKeyValue("repository", repository)
+                .lowCardinalityKeyValue("method", invocation.getMethod().getName())
+                .start();
+            try (Observation.Scope scope = observation.openScope()) {
+                return invocation.proceed();
+            } catch (Throwable ex) {
+                observation.error(ex);
+                throw ex;
+            } finally {
+                observation.stop();
+            }
+        };
+    }
+
+    /**
+     * Exportador de spans al log (JSON OTLP, un span por línea).
+     */
+    @Bean
+    @ConditionalOnProperty(name = "customer.tracing.log-exporter.enabled", havingValue = "true")
+    public SpanExporter otlpJsonLoggingSpanExporter() {
+        return OtlpJsonLoggingSpanExporter.create();
+    }
+}
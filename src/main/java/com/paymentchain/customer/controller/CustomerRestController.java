@@ -1,18 +1,43 @@
 package com.paymentchain.customer.controller;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentchain.customer.business.imports.CustomerImportService;
+import com.paymentchain.customer.business.imports.ImportFormat;
+import com.paymentchain.customer.business.imports.ImportResult;
 import com.paymentchain.customer.business.transactions.BusinessTransaction;
+import com.paymentchain.customer.cache.CustomerResponseCache;
+import com.paymentchain.customer.cache.CustomerResponseCache.CachedResponse;
 import com.paymentchain.customer.entities.Customer;
+import com.paymentchain.customer.events.CustomerChangedEvent;
+import com.paymentchain.customer.events.ProductChangedEvent;
 import com.paymentchain.customer.exception.BusinessRuleException;
 import com.paymentchain.customer.respository.CustomerRepository;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.core.env.Environment;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
 import java.net.UnknownHostException;
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,15 +49,35 @@ import java.util.Optional;
 public class CustomerRestController {
     Logger LOGGER = LoggerFactory.getLogger(CustomerRestController.class);
 
+    private static final String NEXT_AFTER_ID_HEADER = "X-Next-After-Id";
+
     @Autowired
     CustomerRepository customerRepository;
 
     @Autowired
     BusinessTransaction businessTransaction;
 
+    @Autowired
+    CustomerImportService customerImportService;
+
+    @Autowired
+    CustomerResponseCache customerResponseCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     @Autowired
     private Environment env;
 
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${customer.list.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Value("${customer.bulk.max-codes:500}")
+    private int maxBulkCodes;
+
     @GetMapping("/check")
     public String check() {
         return "Your property value is: " + env.getProperty("custom.activeprofileName");
@@ -40,7 +85,7 @@ public class CustomerRestController {
 
     @GetMapping("/{id}")
     public ResponseEntity<?> get(@PathVariable(name = "id") long id) {
-        Optional<Customer> customer = customerRepository.findById(id);
+        Optional<Customer> customer = customerRepository.findWithProductsById(id);
         if (customer.isPresent()) {
             return ResponseEntity.ok(customer);
         } else {
@@ -48,26 +93,137 @@ public class CustomerRestController {
         }
     }
 
+    /**
+     * Listado paginado por keyset: ?afterId=<último id recibido>&size=N.
+     * Si puede haber más resultados, la cabecera X-Next-After-Id indica el siguiente cursor.
+     */
     @GetMapping("/all")
-    public ResponseEntity<?> list() {
-        List<Customer> customerList = customerRepository.findAll();
+    public ResponseEntity<?> list(@RequestParam(name = "afterId", defaultValue = "0") long afterId,
+                                  @RequestParam(name = "size", defaultValue = "100") int size) {
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+        List<Customer> customerList = customerRepository.findPageAfter(afterId, PageRequest.of(0, pageSize));
         if (customerList.isEmpty()) {
             return ResponseEntity.noContent().build();
+        } else if (customerList.size() == pageSize) {
+            long nextAfterId = customerList.get(customerList.size() - 1).getId();
+            return ResponseEntity.ok().header(NEXT_AFTER_ID_HEADER, String.valueOf(nextAfterId)).body(customerList);
         } else {
             return ResponseEntity.ok(customerList);
         }
     }
 
+    /**
+     * Listado completo en streaming NDJSON (Accept: application/x-ndjson).
+     * Cada customer se escribe en cuanto se lee: memoria constante sea cual sea la tabla.
+     */
+    @GetMapping(value = "/all", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> stream() {
+        StreamingResponseBody body = out -> businessTransaction.streamAll(customer -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(customer));
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    /**
+     * Customer enriquecido desde CustomerResponseCache (JSON ya serializado).
+     * ETag con el hash del cuerpo: con If-None-Match coincidente responde 304 sin cuerpo.
+     * Si se aplicó algún fallback la respuesta no se cachea y va sin ETag (no-store).
+     */
     @GetMapping("/full")
-    public ResponseEntity<?> getByCode(@RequestParam(name = "code") String code) {
+    public ResponseEntity<?> getByCode(@RequestParam(name = "code") String code, WebRequest request) {
 
-        Customer customer = businessTransaction.get(code);
+        CachedResponse response = customerResponseCache.get(code, () -> {
+            BusinessTransaction.EnrichedCustomer result = businessTransaction.getEnriched(code);
+            if (result == null) {
+                return null;
+            }
+            byte[] body = serialize(result.customer());
+            return result.complete() ? CachedResponse.of(body) : CachedResponse.degraded(body);
+        });
 
-        if (customer != null) {
-            return ResponseEntity.ok(customer);
-        } else {
+        if (response == null) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!response.complete()) {
+            return ResponseEntity.ok()
+                    .cacheControl(CacheControl.noStore())
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .body(response.body());
+        }
+
+        if (request.checkNotModified(response.etag())) {
+            return null; // 304 con ETag, ya preparado por checkNotModified
+        }
+
+        return ResponseEntity.ok()
+                .eTag(response.etag())
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(response.body());
+    }
+
+    private byte[] serialize(Customer customer) {
+        try {
+            return objectMapper.writeValueAsBytes(customer);
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("Could not serialize customer " + customer.getCode(), ex);
+        }
+    }
+
+    /**
+     * Variante no bloqueante de /full: el hilo de Tomcat se libera mientras
+     * se consulta la base de datos y los servicios remotos.
+     */
+    @GetMapping("/full/reactive")
+    public Mono<ResponseEntity<Customer>> getByCodeReactive(@RequestParam(name = "code") String code) {
+        return businessTransaction.getReactive(code)
+                .map(ResponseEntity::ok)
+                .defaultIfEmpty(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * /full en streaming NDJSON: primera línea el customer con sus productos,
+     * después una línea por transacción según llegan de transaction service.
+     * Opcional: ?limit=N&from=yyyy-MM-dd&to=yyyy-MM-dd (se delegan en transaction service).
+     */
+    @GetMapping(value = "/full/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<Object>> streamByCode(
+            @RequestParam(name = "code") String code,
+            @RequestParam(name = "limit", required = false) Integer limit,
+            @RequestParam(name = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(name = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        Customer customer = customerRepository.findWithProductsByCode(code);
+        if (customer == null) {
             return ResponseEntity.notFound().build();
         }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(businessTransaction.streamFull(customer, limit, from, to));
+    }
+
+    /**
+     * Varios /full en una sola petición: body con la lista de codes (máximo
+     * customer.bulk.max-codes). Responde en NDJSON un customer por línea, en el
+     * orden pedido, según se completa cada uno. Codes inexistentes se omiten.
+     */
+    @PostMapping(value = "/full/bulk",
+            consumes = MediaType.APPLICATION_JSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<Flux<Customer>> getByCodes(@RequestBody List<String> codes) throws BusinessRuleException {
+        if (codes.size() > maxBulkCodes) {
+            throw new BusinessRuleException(1026,
+                    "Too many customer codes: " + codes.size() + " (max " + maxBulkCodes + ")",
+                    HttpStatus.BAD_REQUEST);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(businessTransaction.getBulk(codes));
     }
 
     @PostMapping
@@ -76,6 +232,48 @@ public class CustomerRestController {
         return ResponseEntity.status(HttpStatus.CREATED).body(save);
     }
 
+    /**
+     * Importación masiva en streaming: NDJSON (un customer por línea, como POST)
+     * o CSV (Content-Type: text/csv, cabecera code,name,surname,address,phone,iban,products).
+     * Responde en NDJSON una línea por fila de entrada, lote a lote según se confirma.
+     */
+    @PostMapping(value = "/import",
+            consumes = {MediaType.APPLICATION_NDJSON_VALUE, ImportFormat.TEXT_CSV_VALUE},
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public void importCustomers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        OutputStream out = response.getOutputStream();
+
+        customerImportService.importCustomers(request.getInputStream(),
+                ImportFormat.fromContentType(request.getContentType()),
+                results -> {
+                    try {
+                        for (ImportResult result : results) {
+                            out.write(objectMapper.writeValueAsBytes(result));
+                            out.write('\n');
+                        }
+                        out.flush();
+                    } catch (IOException ex) {
+                        throw new UncheckedIOException(ex);
+                    }
+                });
+    }
+
+    /**
+     * Webhook de product service: un producto ha cambiado. Se publica como
+     * ProductChangedEvent (ProductNameCache, CustomerReadModel) y se responde
+     * sin esperar a que las vistas se actualicen.
+     */
+    @PostMapping("/product-events")
+    public ResponseEntity<?> productChanged(@RequestBody ProductChangedEvent event) throws BusinessRuleException {
+        if (event.productId() == null) {
+            throw new BusinessRuleException(1027, "Missing product ID", HttpStatus.BAD_REQUEST);
+        }
+        eventPublisher.publishEvent(event);
+        return ResponseEntity.accepted().build();
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<?> put(@PathVariable("id") long id, @RequestBody Customer input) {
         Optional<Customer> optionalcustomer = customerRepository.findById(id);
@@ -84,6 +282,7 @@ public class CustomerRestController {
             newcustomer.setName(input.getName());
             newcustomer.setPhone(input.getPhone());
             Customer save = customerRepository.save(newcustomer);
+            eventPublisher.publishEvent(new CustomerChangedEvent(save.getCode()));
             return ResponseEntity.ok(save);
         } else {
             return ResponseEntity.notFound().build();
@@ -92,7 +291,9 @@ public class CustomerRestController {
 
     @DeleteMapping("/{id}")
     public ResponseEntity<?> delete(@PathVariable("id") long id) {
+        Optional<Customer> customer = customerRepository.findById(id);
         customerRepository.deleteById(id);
+        customer.ifPresent(deleted -> eventPublisher.publishEvent(new CustomerChangedEvent(deleted.getCode())));
         return ResponseEntity.noContent().build();
     }
 
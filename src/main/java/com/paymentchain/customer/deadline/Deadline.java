@@ -0,0 +1,85 @@
+package com.paymentchain.customer.deadline;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Instante límite para atender una petición (presupuesto de tiempo).
+ *
+ * Uso:
+ * - DeadlineFilter lo crea al entrar la petición (cabecera X-Request-Timeout-Ms o config)
+ * - BusinessTransaction lo recupera con current() y lo pasa al contexto de Reactor
+ * - DeadlineExchangeFilter lo lee del contexto en cada llamada downstream: envía el
+ *   presupuesto restante como cabecera y no llama si ya se ha agotado
+ *
+ * Basado en System.nanoTime(): inmune a cambios de reloj del sistema.
+ *
+ * @author benas
+ */
+public final class Deadline {
+
+    /** Cabecera con el presupuesto restante en milisegundos (entrada y salida) */
+    public static final String HEADER = "X-Request-Timeout-Ms";
+
+    /** Clave del deadline en el contexto de Reactor */
+    public static final String CONTEXT_KEY = Deadline.class.getName();
+
+    static final String REQUEST_ATTRIBUTE = Deadline.class.getName();
+
+    private final long expiresAtNanos;
+
+    private Deadline(long expiresAtNanos) {
+        this.expiresAtNanos = expiresAtNanos;
+    }
+
+    public static Deadline after(Duration budget) {
+        return new Deadline(System.nanoTime() + budget.toNanos());
+    }
+
+    /**
+     * Deadline de la petición HTTP en curso (si la hay).
+     */
+    public static Optional<Deadline> current() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable((Deadline) attributes.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    /**
+     * Deadline de la petición en curso o, fuera de una petición, uno nuevo con el presupuesto indicado.
+     */
+    public static Deadline currentOr(Duration fallback) {
+        return current().orElseGet(() -> after(fallback));
+    }
+
+    static void bind(HttpServletRequest request, Deadline deadline) {
+        request.setAttribute(REQUEST_ATTRIBUTE, deadline);
+    }
+
+    public Duration remaining() {
+        return Duration.ofNanos(Math.max(0, expiresAtNanos - System.nanoTime()));
+    }
+
+    public boolean isExpired() {
+        return expiresAtNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Timeout de una llamada ajustado al presupuesto: min(timeout, restante).
+     */
+    public Duration cap(Duration timeout) {
+        Duration remaining = remaining();
+        return timeout.compareTo(remaining) < 0 ? timeout : remaining;
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline[remaining=" + remaining().toMillis() + "ms]";
+    }
+}
@@ -0,0 +1,15 @@
+package com.paymentchain.customer.deadline;
+
+/**
+ * Presupuesto de tiempo de la petición agotado antes o durante una llamada downstream.
+ *
+ * No indica fallo del downstream: los circuit breakers la ignoran.
+ *
+ * @author benas
+ */
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
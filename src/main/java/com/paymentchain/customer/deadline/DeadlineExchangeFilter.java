@@ -0,0 +1,49 @@
+package com.paymentchain.customer.deadline;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Propaga el deadline de la petición a las llamadas downstream.
+ *
+ * Con un Deadline en el contexto de Reactor (Deadline.CONTEXT_KEY):
+ * - Agotado → no se llama (DeadlineExceededException inmediata)
+ * - Si no → cabecera X-Request-Timeout-Ms con el presupuesto restante y
+ *   timeout de la llamada igual a ese restante
+ *
+ * Sin deadline en el contexto (p.ej. cargas compartidas de ProductNameCache)
+ * la llamada se hace sin cambios y aplican solo los timeouts del pool.
+ *
+ * @author benas
+ */
+public class DeadlineExchangeFilter implements ExchangeFilterFunction {
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            Optional<Deadline> deadline = context.getOrEmpty(Deadline.CONTEXT_KEY);
+
+            if (deadline.isEmpty()) {
+                return next.exchange(request);
+            }
+
+            if (deadline.get().isExpired()) {
+                return Mono.error(new DeadlineExceededException(
+                    "Request budget exhausted, skipping " + request.method() + " " + request.url()));
+            }
+
+            ClientRequest withBudget = ClientRequest.from(request)
+                .header(Deadline.HEADER, String.valueOf(deadline.get().remaining().toMillis()))
+                .build();
+
+            return next.exchange(withBudget)
+                .timeout(deadline.get().remaining(), Mono.error(() -> new DeadlineExceededException(
+                    "Request budget exhausted waiting for " + request.method() + " " + request.url())));
+        });
+    }
+}
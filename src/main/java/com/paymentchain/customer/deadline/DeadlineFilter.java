@@ -0,0 +1,59 @@
+package com.paymentchain.customer.deadline;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * Asigna a cada petición su deadline.
+ *
+ * Presupuesto:
+ * - Cabecera X-Request-Timeout-Ms del llamador (p.ej. el gateway con lo que le queda)
+ * - Sin cabecera o inválida → customer.deadline.default-ms
+ * - Siempre acotado a customer.deadline.max-ms
+ *
+ * @author benas
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class DeadlineFilter extends OncePerRequestFilter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeadlineFilter.class);
+
+    @Value("${customer.deadline.default-ms:4000}")
+    private long defaultMs;
+
+    @Value("${customer.deadline.max-ms:10000}")
+    private long maxMs;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Deadline.bind(request, Deadline.after(Duration.ofMillis(budgetMs(request.getHeader(Deadline.HEADER)))));
+        chain.doFilter(request, response);
+    }
+
+    long budgetMs(String header) {
+        if (header == null || header.isBlank()) {
+            return Math.min(defaultMs, maxMs);
+        }
+
+        try {
+            return Math.max(0, Math.min(Long.parseLong(header.trim()), maxMs));
+        } catch (NumberFormatException ex) {
+            LOGGER.debug("Ignoring invalid {} header: {}", Deadline.HEADER, header);
+            return Math.min(defaultMs, maxMs);
+        }
+    }
+}
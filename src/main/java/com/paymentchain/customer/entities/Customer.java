@@ -2,6 +2,9 @@ package com.paymentchain.customer.entities;
 
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.BatchSize;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.List;
 
@@ -9,10 +12,18 @@ import java.util.List;
  * @author benas
  */
 @Entity
+@Table(name = "customer", indexes = {
+        @Index(name = "ux_customer_code", columnList = "code", unique = true),
+        @Index(name = "ix_customer_iban", columnList = "iban")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 public class Customer {
 
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    // Secuencia con asignación en bloques de 50 (= hibernate.jdbc.batch_size): inserts por lotes sin ida y vuelta por id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_seq")
+    @SequenceGenerator(name = "customer_seq", sequenceName = "customer_seq", allocationSize = 50)
     @Id
     private long id;
     @Column(name = "code")
@@ -22,6 +33,9 @@ public class Customer {
     private String address;
     private String phone;
     private String iban;
+    // Listados: productos de varios customers se cargan en lotes (una query por lote, no por customer)
+    @BatchSize(size = 50)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
     @OneToMany(fetch = FetchType.LAZY, mappedBy = "customer", cascade = CascadeType.ALL, orphanRemoval = true)
     private List<CustomerProduct> products;
     @Transient
@@ -3,12 +3,17 @@ package com.paymentchain.customer.entities;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Data
 public class CustomerProduct {
     @Id
-    @GeneratedValue(strategy = GenerationType.AUTO)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "customer_product_seq")
+    @SequenceGenerator(name = "customer_product_seq", sequenceName = "customer_product_seq", allocationSize = 50)
     private long id;
 
     private long productId;
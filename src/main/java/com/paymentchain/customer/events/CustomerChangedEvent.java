@@ -0,0 +1,14 @@
+package com.paymentchain.customer.events;
+
+/**
+ * Un customer se ha creado, modificado o borrado (ya confirmado en base de datos).
+ *
+ * Lo publican las operaciones de escritura (POST, PUT, DELETE, importación) para
+ * que las vistas derivadas del customer (p.ej. CustomerResponseCache) se invaliden.
+ *
+ * @param code Código del customer afectado
+ *
+ * @author benas
+ */
+public record CustomerChangedEvent(String code) {
+}
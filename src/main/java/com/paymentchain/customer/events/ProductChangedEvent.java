@@ -0,0 +1,15 @@
+package com.paymentchain.customer.events;
+
+/**
+ * Un producto del catálogo ha cambiado (nombre modificado o producto borrado).
+ *
+ * Lo publica el webhook POST /customer/product-events cuando product service
+ * notifica un cambio, para que las vistas que guardan el nombre del producto
+ * (ProductNameCache, CustomerReadModel) se actualicen.
+ *
+ * @param productId ID del producto afectado
+ *
+ * @author benas
+ */
+public record ProductChangedEvent(Long productId) {
+}
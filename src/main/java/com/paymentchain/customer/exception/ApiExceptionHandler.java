@@ -55,6 +55,31 @@ public class ApiExceptionHandler {
     }
 
 
+    /**
+     * Límite de concurrencia alcanzado: 503 inmediato con Retry-After
+     * para que el cliente reintente más tarde en lugar de encolarse.
+     */
+    @ExceptionHandler(ServiceOverloadedException.class)
+    public ResponseEntity<StandardizedApiExceptionResponse> handleServiceOverloadedException(
+            ServiceOverloadedException ex,
+            WebRequest request
+    ) {
+        StandardizedApiExceptionResponse response = new StandardizedApiExceptionResponse(
+                "TECHNIC",
+                "Servicio sobrecargado",
+                HttpStatus.SERVICE_UNAVAILABLE.value(),
+                ex.getMessage() + ", retry after " + ex.getRetryAfterSeconds() + " s",
+                request.getDescription(false).replace("uri=", "")
+        );
+
+        return ResponseEntity
+                .status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.CONTENT_TYPE, "application/problem+json")
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(response);
+    }
+
+
     /**
      * Manejo global de excepciones no controladas
 
@@ -0,0 +1,22 @@
+package com.paymentchain.customer.exception;
+
+/**
+ * El servicio rechaza la petición para no encolarla (límite de concurrencia alcanzado).
+ *
+ * ApiExceptionHandler responde 503 con Retry-After.
+ *
+ * @author benas
+ */
+public class ServiceOverloadedException extends RuntimeException {
+
+    private final int retryAfterSeconds;
+
+    public ServiceOverloadedException(String message, int retryAfterSeconds) {
+        super(message, null, false, false); // Rechazo esperado y frecuente bajo carga: sin stack trace
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public int getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
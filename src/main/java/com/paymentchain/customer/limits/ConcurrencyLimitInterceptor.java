@@ -0,0 +1,83 @@
+package com.paymentchain.customer.limits;
+
+import com.paymentchain.customer.exception.ServiceOverloadedException;
+import io.micrometer.core.instrument.Counter;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import java.util.Set;
+
+/**
+ * Aplica un GradientLimiter a un grupo de endpoints (load shedding).
+ *
+ * - Límite alcanzado → ServiceOverloadedException antes de ejecutar el controller;
+ *   ApiExceptionHandler la traduce a 503 + Retry-After (problem+json)
+ * - La petición ocupa su hueco hasta que termina de verdad: en endpoints
+ *   asíncronos (Mono, Flux, StreamingResponseBody) hasta el final del dispatch
+ *   asíncrono, no hasta que el controller retorna
+ * - La latencia de cada petición admitida alimenta el límite
+ * - methods restringe el grupo a ciertos métodos HTTP (vacío = todos); el
+ *   resto de peticiones pasan sin ocupar hueco
+ *
+ * @author benas
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+
+    private final String attribute;
+
+    private final GradientLimiter limiter;
+
+    private final Counter rejected;
+
+    private final int retryAfterSeconds;
+
+    private final Set<HttpMethod> methods;
+
+    public ConcurrencyLimitInterceptor(String group, GradientLimiter limiter, Counter rejected, int retryAfterSeconds) {
+        this(group, limiter, rejected, retryAfterSeconds, Set.of());
+    }
+
+    public ConcurrencyLimitInterceptor(String group, GradientLimiter limiter, Counter rejected, int retryAfterSeconds,
+            Set<HttpMethod> methods) {
+        this.attribute = ConcurrencyLimitInterceptor.class.getName() + "." + group;
+        this.limiter = limiter;
+        this.rejected = rejected;
+        this.retryAfterSeconds = retryAfterSeconds;
+        this.methods = methods;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            return true; // Dispatch asíncrono: el hueco se reservó en el dispatch inicial
+        }
+        if (!methods.isEmpty() && !methods.contains(HttpMethod.valueOf(request.getMethod()))) {
+            return true; // Método fuera del grupo: no ocupa hueco ni alimenta el límite
+        }
+
+        if (!limiter.tryAcquire()) {
+            rejected.increment();
+            throw new ServiceOverloadedException(
+                "Concurrency limit of " + limiter.getLimit() + " reached", retryAfterSeconds);
+        }
+
+        request.setAttribute(attribute, System.nanoTime());
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (request.isAsyncStarted()) {
+            return; // Sigue en curso: se libera al completar el dispatch asíncrono
+        }
+
+        Object start = request.getAttribute(attribute);
+        if (start instanceof Long startNanos) {
+            request.removeAttribute(attribute);
+            limiter.release(System.nanoTime() - startNanos);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.paymentchain.customer.limits;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Límite de concurrencia adaptativo guiado por la latencia (estilo Gradient2).
+ *
+ * Idea: mientras la latencia reciente (corto plazo) se mantiene cerca de la
+ * habitual (largo plazo) el servicio no está encolando y el límite puede crecer;
+ * si la latencia reciente sube, el límite baja en proporción.
+ *
+ * Por cada ventana de windowSize muestras:
+ * - shortRtt = media de la ventana; longRtt = media exponencial de ~LONG_WINDOW ventanas
+ * - gradient = clamp(tolerance * longRtt / shortRtt, 0.5, 1.0)
+ * - nuevo = limit * gradient + sqrt(limit)  (margen de cola para poder crecer)
+ * - limit = suavizado (smoothing) y acotado a [minLimit, maxLimit]
+ * - Si en la ventana nunca hubo más de limit/2 en vuelo, no crece: con poco
+ *   tráfico la latencia no dice nada sobre la capacidad
+ * - Si longRtt > 2 * shortRtt (p.ej. tras una racha lenta ya superada),
+ *   longRtt decae más rápido para no quedarse anclado
+ *
+ * @author benas
+ */
+public class GradientLimiter {
+
+    private static final int LONG_WINDOW = 600;
+
+    private static final double MIN_GRADIENT = 0.5;
+
+    private final int minLimit;
+
+    private final int maxLimit;
+
+    private final double tolerance;
+
+    private final double smoothing;
+
+    private final int windowSize;
+
+    private final AtomicInteger inflight = new AtomicInteger();
+
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private volatile double limit;
+
+    private double longRtt;
+
+    private long windowRttSum;
+
+    private int windowCount;
+
+    private int windowMaxInflight;
+
+    public GradientLimiter(int initialLimit, int minLimit, int maxLimit,
+            double tolerance, double smoothing, int windowSize) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.tolerance = tolerance;
+        this.smoothing = smoothing;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Reserva un hueco si hay menos peticiones en vuelo que el límite actual.
+     *
+     * @return true si la petición puede pasar (hay que llamar a release al terminar)
+     */
+    public boolean tryAcquire() {
+        int current;
+        do {
+            current = inflight.get();
+            if (current >= (int) limit) {
+                return false;
+            }
+        } while (!inflight.compareAndSet(current, current + 1));
+        return true;
+    }
+
+    /**
+     * Libera el hueco y registra la latencia observada.
+     *
+     * @param rttNanos Duración de la petición
+     */
+    public void release(long rttNanos) {
+        int inflightAtEnd = inflight.getAndDecrement();
+        onSample(rttNanos, inflightAtEnd);
+    }
+
+    /**
+     * Acumula la muestra y, al cerrar la ventana, recalcula el límite.
+     * ReentrantLock en lugar de synchronized: release se llama desde los hilos de
+     * petición (virtuales si están habilitados) y no debe fijarlos a su carrier.
+     */
+    void onSample(long rttNanos, int inflightAtEnd) {
+        lock.lock();
+        try {
+            windowRttSum += rttNanos;
+            windowCount++;
+            windowMaxInflight = Math.max(windowMaxInflight, inflightAtEnd);
+
+            if (windowCount < windowSize) {
+                return;
+            }
+
+            double shortRtt = (double) windowRttSum / windowCount;
+            int maxInflight = windowMaxInflight;
+            windowRttSum = 0;
+            windowCount = 0;
+            windowMaxInflight = 0;
+
+            if (longRtt == 0) {
+                longRtt = shortRtt;
+            } else {
+                longRtt += (shortRtt - longRtt) * 2.0 / (LONG_WINDOW + 1);
+                if (longRtt > 2 * shortRtt) {
+                    longRtt *= 0.95;
+                }
+            }
+
+            if (maxInflight < limit / 2) {
+                return; // Poco tráfico: la latencia no refleja saturación
+            }
+
+            double gradient = Math.max(MIN_GRADIENT, Math.min(1.0, tolerance * longRtt / shortRtt));
+            double newLimit = limit * gradient + Math.sqrt(limit);
+            newLimit = limit * (1 - smoothing) + newLimit * smoothing;
+            limit = Math.max(minLimit, Math.min(maxLimit, newLimit));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInflight() {
+        return inflight.get();
+    }
+}
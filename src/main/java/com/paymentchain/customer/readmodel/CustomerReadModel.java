@@ -0,0 +1,361 @@
+package com.paymentchain.customer.readmodel;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentchain.customer.cache.ProductNameCache;
+import com.paymentchain.customer.config.ResilienceConfig;
+import com.paymentchain.customer.entities.Customer;
+import com.paymentchain.customer.entities.CustomerProduct;
+import com.paymentchain.customer.events.CustomerChangedEvent;
+import com.paymentchain.customer.events.ProductChangedEvent;
+import com.paymentchain.customer.respository.CustomerRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Modelo de lectura de /customer/full: vista precalculada del customer con sus
+ * productos ya enriquecidos (code → JSON), para no depender de product service al leer.
+ *
+ * Flujo de lectura (find):
+ * 1. Vista materializada → una sola búsqueda en memoria, sin base de datos ni product service
+ * 2. Sin vista → se construye (base de datos + ProductNameCache.getNames) y se guarda
+ *
+ * Product service caído (timeout, error o circuito product abierto):
+ * - La vista se guarda igualmente con los nombres a null, marcada como incompleta
+ *   (con el circuito abierto ni siquiera se llama a product service)
+ * - Cada lectura de una vista incompleta la sirve tal cual y lanza en segundo plano
+ *   (una a la vez por customer) el reintento de los nombres
+ *
+ * Actualización incremental (bus de eventos de Spring, en proceso):
+ * - CustomerChangedEvent (POST, PUT, DELETE, importación): la vista se descarta y,
+ *   si estaba materializada, se reconstruye en segundo plano (jpaScheduler)
+ * - ProductChangedEvent (webhook de product service): se consulta el nombre nuevo una
+ *   vez y se reescribe solo el producto en las vistas que lo contienen, sin base de datos
+ * - Una construcción en curso cuando llega un cambio del customer o de un producto
+ *   no se guarda (se volverá a construir en la siguiente lectura)
+ *
+ * Las transacciones no forman parte de la vista: no hay eventos de transaction
+ * service, así que se siguen consultando en cada lectura.
+ *
+ * Configuración (customer.read-model.*):
+ * - enabled: activa la lectura desde el modelo (false por defecto)
+ * - max-size: máximo de vistas en memoria; al llenarse no se materializan más
+ * - build-timeout-ms: tiempo máximo para obtener los nombres al construir una vista
+ *
+ * Métricas: customer.read-model.views (gauge)
+ *
+ * @author benas
+ */
+@Component
+public class CustomerReadModel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CustomerReadModel.class);
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ProductNameCache productNameCache;
+
+    @Autowired
+    private CircuitBreakerRegistry circuitBreakerRegistry;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Scheduler jpaScheduler;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${customer.read-model.enabled:false}")
+    private boolean enabled;
+
+    @Value("${customer.read-model.max-size:100000}")
+    private int maxSize;
+
+    @Value("${customer.read-model.build-timeout-ms:3000}")
+    private long buildTimeoutMs;
+
+    private final Map<String, CustomerView> views = new ConcurrentHashMap<>();
+
+    /** Construcciones en curso (code → ticket); un CustomerChangedEvent las anula */
+    private final Map<String, Long> pendingBuilds = new ConcurrentHashMap<>();
+
+    private final AtomicLong buildSequence = new AtomicLong();
+
+    /** Customers con un reintento de nombres en curso */
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    /** Versión del catálogo: cada ProductChangedEvent la incrementa */
+    private final AtomicLong productEpoch = new AtomicLong();
+
+    @PostConstruct
+    void init() {
+        Gauge.builder("customer.read-model.views", views, Map::size)
+            .register(meterRegistry);
+
+        LOGGER.info("Customer read model {}: maxSize={}, buildTimeout={} ms",
+            enabled ? "enabled" : "disabled", maxSize, buildTimeoutMs);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Customer con sus productos enriquecidos desde el modelo de lectura.
+     *
+     * @param code Código del customer
+     * @return Mono con una copia nueva del customer (sin transacciones), vacío si no existe;
+     *         falla solo si la vista no estaba materializada y la base de datos no responde
+     */
+    public Mono<Customer> find(String code) {
+        return find(code, new AtomicBoolean());
+    }
+
+    /**
+     * Igual que find(code), marcando incomplete si la vista servida no tiene todos los nombres.
+     *
+     * @param code Código del customer
+     * @param incomplete Se marca si la vista está incompleta (product service no respondió)
+     * @return Mono con una copia nueva del customer (sin transacciones), vacío si no existe
+     */
+    public Mono<Customer> find(String code, AtomicBoolean incomplete) {
+        CustomerView view = views.get(code);
+        if (view != null) {
+            if (!view.complete()) {
+                incomplete.set(true);
+                refreshNames(code, view);
+            }
+            return Mono.fromCallable(() -> read(view));
+        }
+
+        return build(code)
+            .doOnNext(built -> {
+                if (!built.complete()) {
+                    incomplete.set(true);
+                }
+            })
+            .map(this::read);
+    }
+
+    /**
+     * Descarta la vista del customer y la reconstruye si estaba materializada.
+     * Los customers nuevos se materializan en su primera lectura.
+     */
+    @EventListener
+    public void onCustomerChanged(CustomerChangedEvent event) {
+        if (!enabled || event.code() == null) {
+            return;
+        }
+
+        String code = event.code();
+        pendingBuilds.remove(code);
+        if (views.remove(code) != null) {
+            build(code).subscribe(
+                view -> LOGGER.debug("Read model view rebuilt for customer {}", code),
+                ex -> LOGGER.warn("Could not rebuild read model view for customer {}: {}", code, ex.getMessage()));
+        }
+    }
+
+    /**
+     * Reescribe el nombre del producto en las vistas que lo contienen.
+     * Si product service no responde, el nombre queda a null y esas vistas
+     * pasan a incompletas (se reintentan en la siguiente lectura).
+     */
+    @EventListener
+    public void onProductChanged(ProductChangedEvent event) {
+        if (!enabled || event.productId() == null) {
+            return;
+        }
+
+        Long productId = event.productId();
+        productEpoch.incrementAndGet();
+
+        // Recorre las vistas en memoria: los cambios de catálogo son raros
+        List<String> affected = views.entrySet().stream()
+            .filter(entry -> entry.getValue().productIds().contains(productId))
+            .map(Map.Entry::getKey)
+            .toList();
+
+        if (affected.isEmpty()) {
+            return;
+        }
+
+        productNameCache.getName(productId)
+            .timeout(Duration.ofMillis(buildTimeoutMs))
+            .map(Optional::of)
+            .defaultIfEmpty(Optional.empty()) // Producto borrado → nombre null
+            .subscribe(
+                name -> {
+                    affected.forEach(code -> views.computeIfPresent(code,
+                        (key, view) -> rename(view, productId, name.orElse(null), view.complete())));
+                    LOGGER.info("Product {} updated in {} read model views", productId, affected.size());
+                },
+                ex -> {
+                    affected.forEach(code -> views.computeIfPresent(code,
+                        (key, view) -> rename(view, productId, null, false)));
+                    LOGGER.warn("Could not refresh product {} in read model, {} views marked incomplete: {}",
+                        productId, affected.size(), ex.getMessage());
+                });
+    }
+
+    /**
+     * Construye la vista desde la base de datos y product service y la guarda
+     * si no ha habido cambios mientras tanto.
+     */
+    private Mono<CustomerView> build(String code) {
+        return Mono.defer(() -> {
+            long ticket = buildSequence.incrementAndGet();
+            long epoch = productEpoch.get();
+            pendingBuilds.put(code, ticket);
+
+            return Mono.fromCallable(() -> customerRepository.findWithProductsByCode(code))
+                .subscribeOn(jpaScheduler)
+                .flatMap(customer -> enrichProducts(customer)
+                    .map(complete -> CustomerView.of(customer, complete, objectMapper)))
+                .doOnNext(view -> store(code, ticket, epoch, view))
+                .switchIfEmpty(Mono.fromRunnable(() -> store(code, ticket, epoch, null)))
+                .doFinally(signal -> pendingBuilds.remove(code, ticket));
+        });
+    }
+
+    /**
+     * Pone los nombres de producto al customer.
+     *
+     * @return Mono con true si se han obtenido los nombres, false si product service
+     *         no está disponible (nombres a null); nunca falla
+     */
+    private Mono<Boolean> enrichProducts(Customer customer) {
+        if (customer.getProducts() == null || customer.getProducts().isEmpty()) {
+            return Mono.just(true);
+        }
+
+        if (isProductServiceUnavailable()) {
+            LOGGER.debug("Product circuit open, storing customer {} without product names", customer.getCode());
+            return Mono.just(false);
+        }
+
+        Set<Long> productIds = customer.getProducts().stream()
+            .map(CustomerProduct::getProductId)
+            .collect(Collectors.toSet());
+
+        return productNameCache.getNames(productIds)
+            .timeout(Duration.ofMillis(buildTimeoutMs))
+            .map(names -> {
+                customer.getProducts().forEach(product -> product.setProductName(names.get(product.getProductId())));
+                return true;
+            })
+            .onErrorResume(ex -> {
+                LOGGER.warn("Product names unavailable for customer {}, storing view without names: {}",
+                    customer.getCode(), ex.getMessage());
+                return Mono.just(false);
+            });
+    }
+
+    /**
+     * Reintenta en segundo plano los nombres de una vista incompleta. Solo se guarda
+     * si la vista no ha cambiado entretanto (cambio del customer o de un producto).
+     */
+    private void refreshNames(String code, CustomerView view) {
+        if (isProductServiceUnavailable() || !refreshing.add(code)) {
+            return;
+        }
+
+        productNameCache.getNames(view.productIds())
+            .timeout(Duration.ofMillis(buildTimeoutMs))
+            .doFinally(signal -> refreshing.remove(code))
+            .subscribe(
+                names -> views.computeIfPresent(code,
+                    (key, current) -> current == view ? withNames(view, names) : current),
+                ex -> LOGGER.debug("Product names still unavailable for customer {}: {}", code, ex.getMessage()));
+    }
+
+    private boolean isProductServiceUnavailable() {
+        CircuitBreaker.State state = circuitBreakerRegistry.circuitBreaker(ResilienceConfig.PRODUCT).getState();
+        return state == CircuitBreaker.State.OPEN || state == CircuitBreaker.State.FORCED_OPEN;
+    }
+
+    /**
+     * Guarda (o borra, si view es null) la vista solo si la construcción sigue vigente.
+     */
+    private void store(String code, long ticket, long epoch, CustomerView view) {
+        views.compute(code, (key, current) -> {
+            if (!pendingBuilds.remove(key, ticket) || productEpoch.get() != epoch) {
+                return current;
+            }
+            if (view != null && current == null && views.size() >= maxSize) {
+                return null;
+            }
+            return view;
+        });
+    }
+
+    private CustomerView withNames(CustomerView view, Map<Long, String> names) {
+        Customer customer = read(view);
+        customer.getProducts().forEach(product -> product.setProductName(names.get(product.getProductId())));
+        return CustomerView.of(customer, true, objectMapper);
+    }
+
+    private CustomerView rename(CustomerView view, Long productId, String name, boolean complete) {
+        Customer customer = read(view);
+        customer.getProducts().stream()
+            .filter(product -> product.getProductId() == productId)
+            .forEach(product -> product.setProductName(name));
+        return CustomerView.of(customer, complete, objectMapper);
+    }
+
+    private Customer read(CustomerView view) {
+        try {
+            return objectMapper.readValue(view.json(), Customer.class);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    /**
+     * Vista materializada: customer con productos enriquecidos en JSON (inmutable),
+     * IDs de sus productos para localizar las vistas afectadas por un ProductChangedEvent
+     * y si tiene todos los nombres (false: product service no respondió al construirla).
+     */
+    record CustomerView(byte[] json, Set<Long> productIds, boolean complete) {
+
+        static CustomerView of(Customer customer, boolean complete, ObjectMapper objectMapper) {
+            Set<Long> productIds = customer.getProducts() == null
+                ? Collections.emptySet()
+                : customer.getProducts().stream()
+                    .map(CustomerProduct::getProductId)
+                    .collect(Collectors.toUnmodifiableSet());
+            try {
+                return new CustomerView(objectMapper.writeValueAsBytes(customer), productIds, complete);
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+    }
+}
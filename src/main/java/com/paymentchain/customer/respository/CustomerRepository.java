@@ -1,18 +1,80 @@
 package com.paymentchain.customer.respository;
 
 import com.paymentchain.customer.entities.Customer;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
 /**
  * @author benas
  */
 public interface CustomerRepository extends JpaRepository<Customer, Long> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT c FROM Customer c WHERE c.code = :code")
     Customer findByCode(@Param("code") String code);
 
-    //@Query("SELECT IBAN FROM CUSTOMER WHERE IBAN = ?1")
-    //public Customer findByAccount(String iban);
+    /**
+     * Customer con sus productos en una sola consulta (fetch join).
+     * Evita la segunda query al recorrer products (p.ej. en /customer/full).
+     * Cacheable en la query cache si customer.second-level-cache.enabled=true.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT c FROM Customer c LEFT JOIN FETCH c.products WHERE c.code = :code")
+    Customer findWithProductsByCode(@Param("code") String code);
+
+    /**
+     * Varios customers con sus productos en una sola consulta (IN + fetch join).
+     * Sin orden garantizado; los codes inexistentes no aparecen.
+     */
+    @Query("SELECT c FROM Customer c LEFT JOIN FETCH c.products WHERE c.code IN :codes")
+    List<Customer> findWithProductsByCodeIn(@Param("codes") Collection<String> codes);
+
+    /**
+     * Customer con sus productos en una sola consulta (fetch join), para GET /customer/{id}.
+     * Cacheable en la query cache si customer.second-level-cache.enabled=true.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT c FROM Customer c LEFT JOIN FETCH c.products WHERE c.id = :id")
+    Optional<Customer> findWithProductsById(@Param("id") long id);
+
+    /**
+     * Página keyset (seek): customers con id mayor que afterId, ordenados por id.
+     * Sin OFFSET ni COUNT: el coste no crece con el número de página.
+     */
+    @Query("SELECT c FROM Customer c WHERE c.id > :afterId ORDER BY c.id")
+    List<Customer> findPageAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * Recorre todos los customers sin materializarlos en memoria.
+     * Debe consumirse dentro de una transacción y cerrarse al terminar.
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT c FROM Customer c ORDER BY c.id")
+    Stream<Customer> streamAll();
+
+    /**
+     * Customers con el IBAN indicado (usa ix_customer_iban).
+     * El índice no es único: varios customers pueden compartir IBAN.
+     */
+    @Query("SELECT c FROM Customer c WHERE c.iban = :iban")
+    List<Customer> findByIban(@Param("iban") String iban);
+
+    /**
+     * Códigos que ya existen de entre los indicados (usa ux_customer_code).
+     */
+    @Query("SELECT c.code FROM Customer c WHERE c.code IN :codes")
+    List<String> findExistingCodes(@Param("codes") Collection<String> codes);
 }
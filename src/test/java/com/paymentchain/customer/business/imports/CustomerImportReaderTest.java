@@ -0,0 +1,91 @@
+package com.paymentchain.customer.business.imports;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerImportReaderTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testCsvRowsWithQuotedFieldsAndProducts() throws Exception {
+        // Given
+        String csv = """
+            code,name,address,products
+            C001,"Doe, John","Calle ""Mayor"" 1",1;2
+
+            C002,Jane,,
+            """;
+
+        // When
+        List<ImportRow> rows = read(csv, ImportFormat.CSV);
+
+        // Then
+        assertEquals(2, rows.size());
+        assertEquals("C001", rows.get(0).code());
+        assertEquals("Doe, John", rows.get(0).customer().getName());
+        assertEquals("Calle \"Mayor\" 1", rows.get(0).customer().getAddress());
+        assertEquals(List.of(1L, 2L), rows.get(0).customer().getProducts().stream()
+            .map(product -> product.getProductId()).toList());
+        assertNull(rows.get(1).customer().getAddress());
+        assertEquals(2, rows.get(0).line());
+        assertEquals(4, rows.get(1).line()); // Línea física: cuentan cabecera y línea en blanco
+    }
+
+    @Test
+    void testInvalidRowDoesNotStopTheImport() throws Exception {
+        // Given
+        String ndjson = """
+            {"code":"C001","name":"John"}
+            {"code":"C002",
+            {"code":"C003","name":"Jane"}
+            """;
+
+        // When
+        List<ImportRow> rows = read(ndjson, ImportFormat.NDJSON);
+
+        // Then
+        assertEquals(3, rows.size());
+        assertNull(rows.get(0).error());
+        assertNotNull(rows.get(1).error());
+        assertEquals("C003", rows.get(2).code());
+    }
+
+    @Test
+    void testQuotedLineBreakRejectsOnlyThatRow() throws Exception {
+        // Given
+        String csv = """
+            code,name,address
+            C001,John,"Calle Mayor 1
+            Piso 2"
+            C002,Jane,Calle Menor 3
+            """;
+
+        // When
+        List<ImportRow> rows = read(csv, ImportFormat.CSV);
+
+        // Then
+        assertEquals(2, rows.size());
+        assertNotNull(rows.get(0).error());
+        assertEquals(2, rows.get(0).line());
+        assertEquals("C002", rows.get(1).code());
+        assertEquals(4, rows.get(1).line());
+        assertEquals("Calle Menor 3", rows.get(1).customer().getAddress());
+    }
+
+    private List<ImportRow> read(String content, ImportFormat format) throws Exception {
+        List<ImportRow> rows = new ArrayList<>();
+        try (CustomerImportReader reader = new CustomerImportReader(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, objectMapper)) {
+            reader.forEachRemaining(rows::add);
+        }
+        return rows;
+    }
+}
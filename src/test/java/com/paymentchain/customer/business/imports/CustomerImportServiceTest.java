@@ -0,0 +1,175 @@
+package com.paymentchain.customer.business.imports;
+
+import com.paymentchain.customer.cache.ProductNameCache;
+import com.paymentchain.customer.clients.ProductClient;
+import com.paymentchain.customer.clients.TransactionClient;
+import com.paymentchain.customer.config.JdbcBatchingConfig;
+import com.paymentchain.customer.entities.Customer;
+import com.paymentchain.customer.events.CustomerChangedEvent;
+import com.paymentchain.customer.respository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.ImportAutoConfiguration;
+import org.springframework.boot.autoconfigure.jackson.JacksonAutoConfiguration;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sin transacción de test: cada lote hace commit en su propia transacción y con
+ * el batching JDBC de producción, igual que en una importación real.
+ */
+@DataJpaTest
+@Import({CustomerImportService.class, JdbcBatchingConfig.class})
+@ImportAutoConfiguration(JacksonAutoConfiguration.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@RecordApplicationEvents
+@TestPropertySource(properties = {
+    "spring.cloud.config.enabled=false",
+    "eureka.client.enabled=false",
+    "spring.cloud.loadbalancer.enabled=false",
+    "customer.import.chunk-size=10"
+})
+class CustomerImportServiceTest {
+
+    @MockBean
+    private WebClient.Builder webClientBuilder;
+
+    @MockBean
+    private ProductClient productClient;
+
+    @MockBean
+    private TransactionClient transactionClient;
+
+    @MockBean
+    private HttpClient httpClient;
+
+    @MockBean
+    private ProductNameCache productNameCache;
+
+    @Autowired
+    private CustomerImportService importService;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private ApplicationEvents events;
+
+    @AfterEach
+    void cleanUp() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void testCleanChunkIsSavedAndPublishesOneEventPerCreatedRow() throws Exception {
+        // Given
+        String ndjson = """
+            {"code":"C001","name":"John"}
+            {"code":"C002","name":"Jane"}
+            {"code":"C003","name":"Joe"}
+            """;
+
+        // When
+        List<ImportResult> results = importCustomers(ndjson);
+
+        // Then
+        assertEquals(List.of(ImportResult.Status.CREATED, ImportResult.Status.CREATED, ImportResult.Status.CREATED),
+            results.stream().map(ImportResult::status).toList());
+        assertTrue(results.stream().allMatch(result -> result.id() != null && result.id() > 0));
+        assertEquals(3, customerRepository.count());
+        assertEquals(List.of("C001", "C002", "C003"),
+            events.stream(CustomerChangedEvent.class).map(CustomerChangedEvent::code).toList());
+    }
+
+    @Test
+    void testConstraintViolationFailsOnlyTheOffendingRow() throws Exception {
+        // Given
+        String ndjson = """
+            {"code":"C001","name":"John"}
+            {"code":"C002","name":"%s"}
+            {"code":"C003","name":"Joe"}
+            """.formatted("x".repeat(300)); // Más largo que la columna name
+
+        // When
+        List<ImportResult> results = importCustomers(ndjson);
+
+        // Then
+        assertEquals(List.of(ImportResult.Status.CREATED, ImportResult.Status.FAILED, ImportResult.Status.CREATED),
+            results.stream().map(ImportResult::status).toList());
+        assertNotNull(results.get(1).error());
+        assertNotNull(customerRepository.findByCode("C001"));
+        assertNull(customerRepository.findByCode("C002"));
+        assertNotNull(customerRepository.findByCode("C003"));
+        assertEquals(List.of("C001", "C003"),
+            events.stream(CustomerChangedEvent.class).map(CustomerChangedEvent::code).toList());
+    }
+
+    @Test
+    void testExistingAndRepeatedCodesAreRejectedWithoutEvents() throws Exception {
+        // Given
+        Customer existing = new Customer();
+        existing.setCode("C001");
+        existing.setName("John");
+        customerRepository.save(existing);
+        String ndjson = """
+            {"code":"C001","name":"Johnny"}
+            {"code":"C002","name":"Jane"}
+            {"code":"C002","name":"Janet"}
+            """;
+
+        // When
+        List<ImportResult> results = importCustomers(ndjson);
+
+        // Then
+        assertEquals(List.of(ImportResult.Status.REJECTED, ImportResult.Status.CREATED, ImportResult.Status.REJECTED),
+            results.stream().map(ImportResult::status).toList());
+        assertEquals("John", customerRepository.findByCode("C001").getName());
+        assertEquals(List.of("C002"),
+            events.stream(CustomerChangedEvent.class).map(CustomerChangedEvent::code).toList());
+    }
+
+    @Test
+    void testClientSuppliedIdDoesNotOverwriteExistingCustomer() throws Exception {
+        // Given
+        Customer existing = new Customer();
+        existing.setCode("C001");
+        existing.setName("John");
+        long existingId = customerRepository.save(existing).getId();
+        String ndjson = """
+            {"id":%d,"code":"C002","name":"Jane"}
+            """.formatted(existingId);
+
+        // When
+        List<ImportResult> results = importCustomers(ndjson);
+
+        // Then
+        assertEquals(ImportResult.Status.CREATED, results.get(0).status());
+        assertNotEquals(existingId, results.get(0).id());
+        assertEquals(2, customerRepository.count());
+        assertEquals("John", customerRepository.findByCode("C001").getName());
+        assertEquals("Jane", customerRepository.findByCode("C002").getName());
+    }
+
+    private List<ImportResult> importCustomers(String content) throws Exception {
+        List<ImportResult> results = new ArrayList<>();
+        importService.importCustomers(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)),
+            ImportFormat.NDJSON, results::addAll);
+        return results;
+    }
+}
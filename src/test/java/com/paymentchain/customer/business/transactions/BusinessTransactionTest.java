@@ -0,0 +1,459 @@
+package com.paymentchain.customer.business.transactions;
+
+import com.paymentchain.customer.cache.ProductNameCache;
+import com.paymentchain.customer.clients.TransactionClient;
+import com.paymentchain.customer.clients.dto.TransactionDto;
+import com.paymentchain.customer.deadline.Deadline;
+import com.paymentchain.customer.entities.Customer;
+import com.paymentchain.customer.entities.CustomerProduct;
+import com.paymentchain.customer.events.CustomerChangedEvent;
+import com.paymentchain.customer.exception.BusinessRuleException;
+import com.paymentchain.customer.readmodel.CustomerReadModel;
+import com.paymentchain.customer.respository.CustomerRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BusinessTransactionTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private ProductNameCache productNameCache;
+
+    @Mock
+    private TransactionClient transactionClient;
+
+    @Spy
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private CustomerReadModel customerReadModel;
+
+    @InjectMocks
+    private BusinessTransaction businessTransaction;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(businessTransaction, "jpaScheduler", Schedulers.boundedElastic());
+        ReflectionTestUtils.setField(businessTransaction, "maxConcurrency", 8);
+        ReflectionTestUtils.setField(businessTransaction, "deadlineMs", 2000L);
+        ReflectionTestUtils.setField(businessTransaction, "productTimeoutMs", 3000L);
+        ReflectionTestUtils.setField(businessTransaction, "transactionTimeoutMs", 3000L);
+        ReflectionTestUtils.setField(businessTransaction, "validationTimeoutMs", 3000L);
+    }
+
+    @Test
+    void testGetEnrichesProductsConcurrently() {
+        // Given
+        Customer customer = customerWithProducts("CUST001", 5);
+        when(customerRepository.findWithProductsByCode("CUST001")).thenReturn(customer);
+        when(productNameCache.getName(anyLong())).thenAnswer(invocation ->
+            Mono.delay(Duration.ofMillis(300)).map(tick -> "Product " + invocation.getArgument(0)));
+        when(transactionClient.getTransactionsByIban(anyString())).thenReturn(
+            Flux.just(transaction(1), transaction(2)).delayElements(Duration.ofMillis(100)));
+
+        // When
+        long start = System.nanoTime();
+        Customer result = businessTransaction.get("CUST001");
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Then
+        assertTrue(elapsedMs < 1000, "Expected max() of downstream latencies, took " + elapsedMs + " ms");
+        assertEquals("Product 1", result.getProducts().get(0).getProductName());
+        assertEquals("Product 5", result.getProducts().get(4).getProductName());
+        assertEquals(2, result.getTransitions().size());
+        assertEquals(5, meterRegistry.get("customer.enrichment.fanout").summary().totalAmount());
+    }
+
+    @Test
+    void testGetDegradesPerCallOnFailure() {
+        // Given
+        Customer customer = customerWithProducts("CUST002", 2);
+        when(customerRepository.findWithProductsByCode("CUST002")).thenReturn(customer);
+        when(productNameCache.getName(1L)).thenReturn(Mono.just("Savings"));
+        when(productNameCache.getName(2L)).thenReturn(Mono.error(new IllegalStateException("boom")));
+        when(transactionClient.getTransactionsByIban(anyString())).thenReturn(
+            Flux.error(new IllegalStateException("down")));
+
+        // When
+        Customer result = businessTransaction.get("CUST002");
+
+        // Then
+        assertEquals("Savings", result.getProducts().get(0).getProductName());
+        assertNull(result.getProducts().get(1).getProductName());
+        assertNotNull(result.getTransitions());
+        assertTrue(result.getTransitions().isEmpty());
+    }
+
+    @Test
+    void testGetEnrichedReportsWhetherAnyFallbackFired() {
+        // Given
+        when(customerRepository.findWithProductsByCode("CUST001")).thenReturn(customerWithProducts("CUST001", 2));
+        when(customerRepository.findWithProductsByCode("CUST002")).thenReturn(customerWithProducts("CUST002", 2));
+        when(productNameCache.getName(1L)).thenReturn(Mono.just("Savings"));
+        when(productNameCache.getName(2L))
+            .thenReturn(Mono.just("Credit"))
+            .thenReturn(Mono.error(new IllegalStateException("boom")));
+        when(transactionClient.getTransactionsByIban(anyString())).thenReturn(Flux.just(transaction(1)));
+
+        // When
+        BusinessTransaction.EnrichedCustomer complete = businessTransaction.getEnriched("CUST001");
+        BusinessTransaction.EnrichedCustomer degraded = businessTransaction.getEnriched("CUST002");
+
+        // Then
+        assertTrue(complete.complete());
+        assertFalse(degraded.complete());
+        assertNull(degraded.customer().getProducts().get(1).getProductName());
+    }
+
+    @Test
+    void testGetHonoursOverallDeadline() {
+        // Given
+        ReflectionTestUtils.setField(businessTransaction, "deadlineMs", 200L);
+        Customer customer = customerWithProducts("CUST003", 1);
+        when(customerRepository.findWithProductsByCode("CUST003")).thenReturn(customer);
+        when(productNameCache.getName(anyLong())).thenReturn(Mono.never());
+        when(transactionClient.getTransactionsByIban(anyString())).thenReturn(Flux.never());
+
+        // When
+        long start = System.nanoTime();
+        Customer result = businessTransaction.get("CUST003");
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Then
+        assertTrue(elapsedMs < 1000, "Deadline not applied, took " + elapsedMs + " ms");
+        assertNull(result.getProducts().get(0).getProductName());
+        assertTrue(result.getTransitions().isEmpty());
+    }
+
+    @Test
+    void testGetSkipsDownstreamCallsWhenRequestBudgetIsExhausted() {
+        // Given
+        Customer customer = customerWithProducts("CUST005", 2);
+        when(customerRepository.findWithProductsByCode("CUST005")).thenReturn(customer);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(Deadline.class.getName(), Deadline.after(Duration.ZERO));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // When
+        Customer result;
+        try {
+            result = businessTransaction.get("CUST005");
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        // Then
+        assertNull(result.getProducts().get(0).getProductName());
+        assertTrue(result.getTransitions().isEmpty());
+        verifyNoInteractions(productNameCache, transactionClient);
+    }
+
+    @Test
+    void testGetReactiveRunsRepositoryOffCallerThread() {
+        // Given
+        Customer customer = customerWithProducts("CUST004", 2);
+        AtomicReference<String> repositoryThread = new AtomicReference<>();
+        when(customerRepository.findWithProductsByCode("CUST004")).thenAnswer(invocation -> {
+            repositoryThread.set(Thread.currentThread().getName());
+            return customer;
+        });
+        when(productNameCache.getName(anyLong())).thenReturn(Mono.just("Savings"));
+        when(transactionClient.getTransactionsByIban(anyString())).thenReturn(Flux.just(transaction(1)));
+
+        // When
+        Customer result = businessTransaction.getReactive("CUST004").block(Duration.ofSeconds(2));
+
+        // Then
+        assertNotEquals(Thread.currentThread().getName(), repositoryThread.get());
+        assertEquals("Savings", result.getProducts().get(1).getProductName());
+        assertEquals(1, result.getTransitions().size());
+    }
+
+    @Test
+    void testGetReactiveNotFound() {
+        // Given
+        when(customerRepository.findWithProductsByCode("NONEXISTENT")).thenReturn(null);
+
+        // When
+        Customer result = businessTransaction.getReactive("NONEXISTENT").block(Duration.ofSeconds(2));
+
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    void testGetNotFound() {
+        // Given
+        when(customerRepository.findWithProductsByCode("NONEXISTENT")).thenReturn(null);
+
+        // When
+        Customer result = businessTransaction.get("NONEXISTENT");
+
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    void testStreamFullEmitsHeaderThenTransactionsUpToLimit() {
+        // Given
+        ReflectionTestUtils.setField(businessTransaction, "maxStreamedTransactions", 100);
+        Customer customer = customerWithProducts("CUST003", 2);
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        when(productNameCache.getName(anyLong())).thenAnswer(invocation ->
+            Mono.just("Product " + invocation.getArgument(0)));
+        when(transactionClient.getTransactions(customer.getIban(), 3, from, null)).thenReturn(
+            Flux.range(1, 10).map(BusinessTransactionTest::transaction));
+
+        // When
+        List<Object> lines = businessTransaction.streamFull(customer, 3, from, null)
+            .collectList()
+            .block(Duration.ofSeconds(2));
+
+        // Then
+        assertEquals(4, lines.size());
+        Customer header = (Customer) lines.get(0);
+        assertEquals("Product 1", header.getProducts().get(0).getProductName());
+        assertNull(header.getTransitions());
+        assertEquals(3L, ((TransactionDto) lines.get(3)).getId());
+    }
+
+    @Test
+    void testStreamFullCallsTransactionServiceWithoutWaitingForProducts() {
+        // Given
+        ReflectionTestUtils.setField(businessTransaction, "maxStreamedTransactions", 100);
+        Customer customer = customerWithProducts("CUST008", 1);
+        AtomicBoolean transactionsRequested = new AtomicBoolean();
+        when(productNameCache.getName(1L)).thenReturn(Mono.delay(Duration.ofMillis(200))
+            .map(tick -> transactionsRequested.get() ? "Requested" : "Not requested"));
+        when(transactionClient.getTransactions(customer.getIban(), 10, null, null)).thenReturn(
+            Flux.just(transaction(1), transaction(2)).doOnSubscribe(subscription -> transactionsRequested.set(true)));
+
+        // When
+        List<Object> lines = businessTransaction.streamFull(customer, 10, null, null)
+            .collectList()
+            .block(Duration.ofSeconds(2));
+
+        // Then
+        assertEquals(3, lines.size());
+        Customer header = (Customer) lines.get(0);
+        assertEquals("Requested", header.getProducts().get(0).getProductName());
+        assertEquals(1L, ((TransactionDto) lines.get(1)).getId());
+    }
+
+    @Test
+    void testStreamFullSendsRequestDeadlineDownstream() {
+        // Given
+        Customer customer = customerWithProducts("CUST006", 0);
+        Deadline deadline = Deadline.after(Duration.ofSeconds(1));
+        AtomicReference<Object> propagated = new AtomicReference<>();
+        when(transactionClient.getTransactions(customer.getIban(), 10, null, null)).thenReturn(
+            Flux.deferContextual(context -> {
+                propagated.set(context.getOrDefault(Deadline.CONTEXT_KEY, null));
+                return Flux.just(transaction(1));
+            }));
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(Deadline.class.getName(), deadline);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // When
+        Flux<Object> lines;
+        try {
+            lines = businessTransaction.streamFull(customer, 10, null, null);
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        lines.blockLast(Duration.ofSeconds(2));
+
+        // Then
+        assertSame(deadline, propagated.get());
+    }
+
+    @Test
+    void testProductLookupsCarryRequestDeadline() {
+        // Given
+        Customer customer = customerWithProducts("CUST007", 1);
+        Deadline deadline = Deadline.after(Duration.ofSeconds(1));
+        AtomicReference<Object> propagated = new AtomicReference<>();
+        when(customerRepository.findWithProductsByCode("CUST007")).thenReturn(customer);
+        when(productNameCache.getName(1L)).thenReturn(
+            Mono.deferContextual(context -> {
+                propagated.set(context.getOrDefault(Deadline.CONTEXT_KEY, null));
+                return Mono.just("Savings");
+            }));
+        when(transactionClient.getTransactionsByIban(anyString())).thenReturn(Flux.empty());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(Deadline.class.getName(), deadline);
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // When
+        Customer result;
+        try {
+            result = businessTransaction.get("CUST007");
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+
+        // Then
+        assertEquals("Savings", result.getProducts().get(0).getProductName());
+        assertSame(deadline, propagated.get());
+    }
+
+    @Test
+    void testGetBulkHonoursCallerDeadline() {
+        // Given
+        Customer customer = customerWithProducts("CUST022", 1);
+        when(customerRepository.findWithProductsByCodeIn(List.of("CUST022"))).thenReturn(List.of(customer));
+        when(productNameCache.getNames(any())).thenReturn(Mono.never());
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.setAttribute(Deadline.class.getName(), Deadline.after(Duration.ZERO));
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(request));
+
+        // When
+        Flux<Customer> customers;
+        try {
+            customers = businessTransaction.getBulk(List.of("CUST022"));
+        } finally {
+            RequestContextHolder.resetRequestAttributes();
+        }
+        List<Customer> result = customers.collectList().block(Duration.ofSeconds(2));
+
+        // Then
+        assertEquals(1, result.size());
+        assertTrue(result.get(0).getTransitions().isEmpty());
+        verifyNoInteractions(transactionClient);
+    }
+
+    @Test
+    void testGetBulkResolvesSharedProductsOnceAndKeepsRequestOrder() {
+        // Given
+        Customer first = customerWithProducts("CUST020", 2);
+        Customer second = customerWithProducts("CUST021", 3);
+        when(customerRepository.findWithProductsByCodeIn(List.of("CUST020", "CUST021", "MISSING")))
+            .thenReturn(List.of(second, first));
+        when(productNameCache.getNames(Set.of(1L, 2L, 3L))).thenReturn(
+            Mono.just(Map.of(1L, "Product 1", 2L, "Product 2", 3L, "Product 3")));
+        when(transactionClient.getTransactionsByIban("ESCUST020")).thenReturn(
+            Flux.just(transaction(1)).delayElements(Duration.ofMillis(200)));
+        when(transactionClient.getTransactionsByIban("ESCUST021")).thenReturn(
+            Flux.just(transaction(2), transaction(3)));
+
+        // When
+        List<Customer> result = businessTransaction
+            .getBulk(List.of("CUST020", "CUST021", "CUST020", "MISSING"))
+            .collectList()
+            .block();
+
+        // Then
+        assertEquals(List.of("CUST020", "CUST021"), result.stream().map(Customer::getCode).toList());
+        assertEquals("Product 2", result.get(0).getProducts().get(1).getProductName());
+        assertEquals("Product 3", result.get(1).getProducts().get(2).getProductName());
+        assertEquals(1, result.get(0).getTransitions().size());
+        assertEquals(2, result.get(1).getTransitions().size());
+        verify(productNameCache, times(1)).getNames(any());
+        verify(productNameCache, never()).getName(anyLong());
+    }
+
+    @Test
+    void testPostValidatesEachDistinctProductOnce() throws Exception {
+        // Given
+        Customer customer = customerWithProducts("CUST010", 2);
+        CustomerProduct repeated = new CustomerProduct();
+        repeated.setProductId(1L);
+        customer.getProducts().add(repeated);
+        when(productNameCache.getName(anyLong())).thenAnswer(invocation ->
+            Mono.just("Product " + invocation.getArgument(0)));
+        when(customerRepository.save(customer)).thenReturn(customer);
+
+        // When
+        Customer result = businessTransaction.post(customer);
+
+        // Then
+        assertSame(customer, result);
+        verify(productNameCache, times(1)).getName(1L);
+        verify(productNameCache, times(1)).getName(2L);
+        verify(eventPublisher).publishEvent(new CustomerChangedEvent("CUST010"));
+    }
+
+    @Test
+    void testPostFailsFastAndCancelsPendingLookupsOnMissingProduct() {
+        // Given
+        Customer customer = customerWithProducts("CUST011", 2);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        when(productNameCache.getName(1L)).thenReturn(
+            Mono.<String>never().doOnCancel(() -> cancelled.set(true)));
+        when(productNameCache.getName(2L)).thenReturn(Mono.empty());
+
+        // When
+        long start = System.nanoTime();
+        BusinessRuleException ex = assertThrows(BusinessRuleException.class,
+            () -> businessTransaction.post(customer));
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Then
+        assertEquals(1025, ex.getId());
+        assertEquals("Product with ID 2 does not exist", ex.getCode());
+        assertEquals(HttpStatus.PRECONDITION_FAILED, ex.getHttpStatus());
+        assertTrue(cancelled.get());
+        assertTrue(elapsedMs < 1000, "Expected fail-fast, took " + elapsedMs + " ms");
+        verify(customerRepository, never()).save(any());
+    }
+
+    private static Customer customerWithProducts(String code, int productCount) {
+        Customer customer = new Customer();
+        customer.setCode(code);
+        customer.setIban("ES" + code);
+        List<CustomerProduct> products = new ArrayList<>();
+        for (long i = 1; i <= productCount; i++) {
+            CustomerProduct product = new CustomerProduct();
+            product.setProductId(i);
+            products.add(product);
+        }
+        customer.setProducts(products);
+        return customer;
+    }
+
+    private static TransactionDto transaction(long id) {
+        return new TransactionDto(id, "REF" + id, null, null, null, null, null, null, null);
+    }
+}
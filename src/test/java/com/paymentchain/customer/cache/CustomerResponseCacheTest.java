@@ -0,0 +1,135 @@
+package com.paymentchain.customer.cache;
+
+import com.paymentchain.customer.cache.CustomerResponseCache.CachedResponse;
+import com.paymentchain.customer.events.CustomerChangedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CustomerResponseCacheTest {
+
+    private CustomerResponseCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new CustomerResponseCache();
+        ReflectionTestUtils.setField(cache, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+        cache.init();
+    }
+
+    @Test
+    void testRepeatReadIsServedFromCacheWithStableEtag() {
+        // Given
+        AtomicInteger builds = new AtomicInteger();
+
+        // When
+        CachedResponse first = cache.get("CUST001", () -> json("v1", builds));
+        CachedResponse second = cache.get("CUST001", () -> json("v2", builds));
+
+        // Then
+        assertEquals(1, builds.get());
+        assertEquals(first.etag(), second.etag());
+        assertTrue(first.etag().startsWith("\"") && first.etag().endsWith("\""));
+    }
+
+    @Test
+    void testChangeEventInvalidatesEntry() {
+        // Given
+        AtomicInteger builds = new AtomicInteger();
+        CachedResponse before = cache.get("CUST001", () -> json("v1", builds));
+
+        // When
+        cache.onCustomerChanged(new CustomerChangedEvent("CUST001"));
+        CachedResponse after = cache.get("CUST001", () -> json("v2", builds));
+
+        // Then
+        assertEquals(2, builds.get());
+        assertNotEquals(before.etag(), after.etag());
+    }
+
+    @Test
+    void testMissingCustomerIsNotCached() {
+        // Given
+        AtomicInteger builds = new AtomicInteger();
+
+        // When
+        CachedResponse first = cache.get("NONEXISTENT", () -> {
+            builds.incrementAndGet();
+            return null;
+        });
+        cache.get("NONEXISTENT", () -> json("v1", builds));
+
+        // Then
+        assertNull(first);
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    void testDegradedResponseIsServedWithoutEtagAndNotCached() {
+        // Given
+        AtomicInteger builds = new AtomicInteger();
+
+        // When
+        CachedResponse degraded = cache.get("CUST001", () -> {
+            builds.incrementAndGet();
+            return CachedResponse.degraded("partial".getBytes(StandardCharsets.UTF_8));
+        });
+        CachedResponse next = cache.get("CUST001", () -> json("complete", builds));
+
+        // Then
+        assertEquals("partial", new String(degraded.body(), StandardCharsets.UTF_8));
+        assertNull(degraded.etag());
+        assertEquals("complete", new String(next.body(), StandardCharsets.UTF_8));
+        assertNotNull(next.etag());
+        assertEquals(2, builds.get());
+    }
+
+    @Test
+    void testResponseBuiltDuringInvalidationIsNotKept() throws Exception {
+        // Given
+        AtomicInteger builds = new AtomicInteger();
+        CountDownLatch building = new CountDownLatch(1);
+        CountDownLatch invalidated = new CountDownLatch(1);
+        CompletableFuture<CachedResponse> stale = CompletableFuture.supplyAsync(() -> cache.get("CUST001", () -> {
+            building.countDown();
+            await(invalidated);
+            return json("stale", builds);
+        }));
+
+        // When
+        assertTrue(building.await(1, TimeUnit.SECONDS));
+        cache.onCustomerChanged(new CustomerChangedEvent("CUST001"));
+        invalidated.countDown();
+        stale.get(1, TimeUnit.SECONDS);
+        CachedResponse fresh = cache.get("CUST001", () -> json("fresh", builds));
+
+        // Then
+        assertEquals(2, builds.get());
+        assertEquals("fresh", new String(fresh.body(), StandardCharsets.UTF_8));
+    }
+
+    private static CachedResponse json(String value, AtomicInteger builds) {
+        builds.incrementAndGet();
+        return CachedResponse.of(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(1, TimeUnit.SECONDS);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
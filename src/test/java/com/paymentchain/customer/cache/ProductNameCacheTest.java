@@ -0,0 +1,145 @@
+package com.paymentchain.customer.cache;
+
+import com.paymentchain.customer.clients.ProductLookupCoalescer;
+import com.paymentchain.customer.clients.dto.ProductDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductNameCacheTest {
+
+    @Mock
+    private ProductLookupCoalescer productLookupCoalescer;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ProductNameCache cache;
+
+    @BeforeEach
+    void setUp() {
+        cache = new ProductNameCache();
+        ReflectionTestUtils.setField(cache, "productLookupCoalescer", productLookupCoalescer);
+        ReflectionTestUtils.setField(cache, "meterRegistry", meterRegistry);
+        ReflectionTestUtils.setField(cache, "enabled", true);
+        ReflectionTestUtils.setField(cache, "ttlMs", 60_000L);
+        ReflectionTestUtils.setField(cache, "staleMs", 60_000L);
+        ReflectionTestUtils.setField(cache, "maxSize", 100L);
+    }
+
+    @Test
+    void testColdKeyIsLoadedOnlyOnce() {
+        // Given
+        cache.init();
+        AtomicInteger calls = new AtomicInteger();
+        when(productLookupCoalescer.getProduct(1L)).thenAnswer(invocation -> {
+            calls.incrementAndGet();
+            return Mono.delay(Duration.ofMillis(200)).map(tick -> product(1L, "Savings"));
+        });
+
+        // When
+        List<String> names = Flux.range(0, 10)
+            .flatMap(i -> cache.getName(1L))
+            .collectList()
+            .block(Duration.ofSeconds(2));
+
+        // Then
+        assertEquals(10, names.size());
+        assertTrue(names.stream().allMatch("Savings"::equals));
+        assertEquals(1, calls.get());
+    }
+
+    @Test
+    void testExpiredEntryIsServedWhileRefreshing() throws InterruptedException {
+        // Given
+        ReflectionTestUtils.setField(cache, "ttlMs", 50L);
+        cache.init();
+        when(productLookupCoalescer.getProduct(1L))
+            .thenReturn(Mono.just(product(1L, "Savings")))
+            .thenReturn(Mono.delay(Duration.ofMillis(200)).map(tick -> product(1L, "Savings Plus")));
+        assertEquals("Savings", cache.getName(1L).block());
+
+        // When
+        Thread.sleep(100);
+        String stale = cache.getName(1L).block(Duration.ofMillis(100));
+
+        // Then
+        assertEquals("Savings", stale);
+        Thread.sleep(400);
+        assertEquals("Savings Plus", cache.getName(1L).block());
+        verify(productLookupCoalescer, atLeast(2)).getProduct(1L);
+    }
+
+    @Test
+    void testMissingProductIsNotCached() {
+        // Given
+        cache.init();
+        when(productLookupCoalescer.getProduct(99L)).thenReturn(Mono.empty());
+
+        // When
+        String first = cache.getName(99L).block();
+        String second = cache.getName(99L).block();
+
+        // Then
+        assertNull(first);
+        assertNull(second);
+        verify(productLookupCoalescer, times(2)).getProduct(99L);
+    }
+
+    @Test
+    void testGetNamesLoadsOnlyMissingKeys() {
+        // Given
+        cache.init();
+        when(productLookupCoalescer.getProduct(anyLong()))
+            .thenAnswer(invocation -> {
+                long id = invocation.getArgument(0);
+                return id == 3L ? Mono.empty() : Mono.just(product(id, "Product " + id));
+            });
+        cache.getName(1L).block();
+
+        // When
+        Map<Long, String> names = cache.getNames(List.of(1L, 2L, 3L)).block();
+
+        // Then
+        assertEquals(Map.of(1L, "Product 1", 2L, "Product 2"), names);
+        verify(productLookupCoalescer, times(1)).getProduct(1L);
+    }
+
+    @Test
+    void testHitAndMissCountersAreExported() {
+        // Given
+        cache.init();
+        when(productLookupCoalescer.getProduct(1L)).thenReturn(Mono.just(product(1L, "Savings")));
+
+        // When
+        cache.getName(1L).block();
+        cache.getName(1L).block();
+        cache.getName(1L).block();
+
+        // Then
+        assertEquals(2.0, meterRegistry.get("cache.gets")
+            .tag("cache", ProductNameCache.CACHE_NAME).tag("result", "hit").functionCounter().count());
+        assertEquals(1.0, meterRegistry.get("cache.gets")
+            .tag("cache", ProductNameCache.CACHE_NAME).tag("result", "miss").functionCounter().count());
+    }
+
+    private static ProductDto product(long id, String name) {
+        return new ProductDto(id, name);
+    }
+}
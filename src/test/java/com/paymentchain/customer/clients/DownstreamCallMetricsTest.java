@@ -0,0 +1,49 @@
+package com.paymentchain.customer.clients;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DownstreamCallMetricsTest {
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final DownstreamCallMetrics metrics = new DownstreamCallMetrics("transaction", meterRegistry);
+
+    @Test
+    void testCallsAreTaggedByOutcome() {
+        // When
+        metrics.timed("getProduct", Mono.just("Savings")).block();
+        metrics.timed("getProduct", Mono.error(new TimeoutException())).onErrorResume(ex -> Mono.empty()).block();
+        metrics.timed("getProduct", Mono.error(new IllegalStateException("503"))).onErrorResume(ex -> Mono.empty()).block();
+        metrics.timed("getProduct", Mono.never()).timeout(Duration.ofMillis(10), Mono.empty()).block();
+
+        // Then
+        assertEquals(1, calls("success"));
+        assertEquals(1, calls("timeout"));
+        assertEquals(1, calls("fallback"));
+        assertEquals(1, calls("cancelled"));
+    }
+
+    @Test
+    void testPayloadSizeIsRecordedPerCall() {
+        // When
+        metrics.timed("getTransactions", Flux.range(1, 3)).blockLast();
+        metrics.timed("getTransactions", Flux.range(1, 100)).take(5).blockLast();
+
+        // Then
+        assertEquals(2, meterRegistry.get(DownstreamCallMetrics.PAYLOAD_SIZE).summary().count());
+        assertEquals(8, meterRegistry.get(DownstreamCallMetrics.PAYLOAD_SIZE).summary().totalAmount());
+    }
+
+    private long calls(String outcome) {
+        return meterRegistry.get(DownstreamCallMetrics.CALLS).tag("outcome", outcome).timer().count();
+    }
+}
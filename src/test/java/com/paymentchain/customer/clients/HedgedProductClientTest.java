@@ -0,0 +1,166 @@
+package com.paymentchain.customer.clients;
+
+import com.paymentchain.customer.clients.dto.ProductDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class HedgedProductClientTest {
+
+    @Mock
+    private ProductClient delegate;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void testHedgeWinsWhenPrimaryIsSlowAndLoserIsCancelled() {
+        // Given
+        HedgedProductClient client = client(1.0);
+        AtomicBoolean primaryCancelled = new AtomicBoolean();
+        when(delegate.getProduct(1L))
+            .thenReturn(Mono.delay(Duration.ofSeconds(2)).map(tick -> product("slow"))
+                .doOnCancel(() -> primaryCancelled.set(true)))
+            .thenReturn(Mono.just(product("fast")));
+
+        // When
+        long start = System.nanoTime();
+        ProductDto result = client.getProduct(1L).block(Duration.ofSeconds(1));
+        long elapsedMs = Duration.ofNanos(System.nanoTime() - start).toMillis();
+
+        // Then
+        assertEquals("fast", result.name());
+        assertTrue(elapsedMs < 500, "Hedge not sent in time, took " + elapsedMs + " ms");
+        assertTrue(primaryCancelled.get());
+        assertEquals(1.0, meterRegistry.get("customer.product.hedges").tag("result", "sent").counter().count());
+    }
+
+    @Test
+    void testFastPrimaryDoesNotHedge() {
+        // Given
+        HedgedProductClient client = client(1.0);
+        when(delegate.getProduct(1L)).thenReturn(Mono.just(product("fast")));
+
+        // When
+        ProductDto result = client.getProduct(1L).block(Duration.ofSeconds(1));
+
+        // Then
+        assertEquals("fast", result.name());
+        verify(delegate, times(1)).getProduct(1L);
+    }
+
+    @Test
+    void testHedgeIsSuppressedWhenBudgetIsExhausted() {
+        // Given
+        HedgedProductClient client = client(0.0);
+        when(delegate.getProduct(1L)).thenReturn(Mono.delay(Duration.ofMillis(200)).map(tick -> product("slow")));
+
+        // When
+        ProductDto result = client.getProduct(1L).block(Duration.ofSeconds(1));
+
+        // Then
+        assertEquals("slow", result.name());
+        verify(delegate, times(1)).getProduct(1L);
+        assertEquals(1.0, meterRegistry.get("customer.product.hedges").tag("result", "suppressed").counter().count());
+    }
+
+    @Test
+    void testFastFailingHedgeDoesNotCancelPrimary() {
+        // Given
+        HedgedProductClient client = client(1.0);
+        when(delegate.getProduct(1L))
+            .thenReturn(Mono.delay(Duration.ofMillis(200)).map(tick -> product("slow")))
+            .thenReturn(Mono.error(new IllegalStateException("hedge failed")));
+
+        // When
+        ProductDto result = client.getProduct(1L).block(Duration.ofSeconds(1));
+
+        // Then
+        assertEquals("slow", result.name());
+        verify(delegate, times(2)).getProduct(1L);
+    }
+
+    @Test
+    void testPrimaryErrorIsPropagatedWhenBothFail() {
+        // Given
+        HedgedProductClient client = client(1.0);
+        when(delegate.getProduct(1L))
+            .thenReturn(Mono.delay(Duration.ofMillis(200))
+                .then(Mono.<ProductDto>error(new IllegalStateException("primary failed"))))
+            .thenReturn(Mono.error(new IllegalArgumentException("hedge failed")));
+
+        // When
+        IllegalStateException ex = assertThrows(IllegalStateException.class,
+            () -> client.getProduct(1L).block(Duration.ofSeconds(1)));
+
+        // Then
+        assertEquals("primary failed", ex.getMessage());
+        verify(delegate, times(2)).getProduct(1L);
+    }
+
+    @Test
+    void testFastPrimaryErrorIsNotHedged() {
+        // Given
+        HedgedProductClient client = client(1.0);
+        when(delegate.getProduct(1L)).thenReturn(Mono.error(new IllegalStateException("primary failed")));
+
+        // When
+        assertThrows(IllegalStateException.class, () -> client.getProduct(1L).block(Duration.ofSeconds(1)));
+
+        // Then
+        verify(delegate, after(200).times(1)).getProduct(1L);
+        assertEquals(0.0, meterRegistry.get("customer.product.hedges").tag("result", "sent").counter().count());
+    }
+
+    @Test
+    void testHedgeBudgetAllowsOneHedgePerDepositedToken() {
+        // Given
+        HedgedProductClient.HedgeBudget budget = new HedgedProductClient.HedgeBudget(0.5);
+
+        // When
+        budget.deposit();
+        boolean afterHalfToken = budget.tryAcquire();
+        budget.deposit();
+        boolean afterOneToken = budget.tryAcquire();
+        boolean afterSpending = budget.tryAcquire();
+
+        // Then
+        assertFalse(afterHalfToken);
+        assertTrue(afterOneToken);
+        assertFalse(afterSpending);
+    }
+
+    @Test
+    void testHedgeDelayFollowsObservedPercentile() {
+        // Given
+        HedgedProductClient.LatencyWindow window = new HedgedProductClient.LatencyWindow(
+            100, 95, Duration.ofMillis(100).toNanos(), Duration.ofMillis(1).toNanos());
+
+        // When
+        for (int i = 1; i <= 64; i++) {
+            window.record(Duration.ofMillis(i).toNanos());
+        }
+
+        // Then
+        assertEquals(Duration.ofMillis(61).toNanos(), window.percentileNanos());
+    }
+
+    private HedgedProductClient client(double maxHedgeRatio) {
+        return new HedgedProductClient(delegate, 95, 256,
+            Duration.ofMillis(50), Duration.ofMillis(10), maxHedgeRatio, meterRegistry);
+    }
+
+    private static ProductDto product(String name) {
+        return new ProductDto(1L, name);
+    }
+}
@@ -0,0 +1,146 @@
+package com.paymentchain.customer.clients;
+
+import com.paymentchain.customer.clients.dto.ProductDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductLookupCoalescerTest {
+
+    @Mock
+    private ProductClient productClient;
+
+    @InjectMocks
+    private ProductLookupCoalescer coalescer;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(coalescer, "enabled", true);
+        ReflectionTestUtils.setField(coalescer, "windowMs", 50L);
+        ReflectionTestUtils.setField(coalescer, "maxBatchSize", 50);
+        coalescer.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        coalescer.stop();
+    }
+
+    @Test
+    void testConcurrentLookupsAreSentAsOneBatch() {
+        // Given
+        when(productClient.getProducts(List.of(1L, 2L)))
+            .thenReturn(Flux.just(product(1L, "Savings"), product(2L, "Credit")));
+
+        // When
+        List<String> names = Flux.merge(
+                coalescer.getProduct(1L),
+                coalescer.getProduct(2L),
+                coalescer.getProduct(1L))
+            .map(ProductDto::name)
+            .collectList()
+            .block(Duration.ofSeconds(2));
+
+        // Then
+        assertEquals(3, names.size());
+        assertTrue(names.containsAll(List.of("Savings", "Credit")));
+        verify(productClient, times(1)).getProducts(List.of(1L, 2L));
+        verify(productClient, never()).getProduct(anyLong());
+    }
+
+    @Test
+    void testMissingProductCompletesEmpty() throws Exception {
+        // Given
+        when(productClient.getProducts(List.of(1L, 99L)))
+            .thenReturn(Flux.just(product(1L, "Savings")));
+
+        // When
+        CompletableFuture<ProductDto> found = coalescer.getProduct(1L).toFuture();
+        CompletableFuture<ProductDto> missing = coalescer.getProduct(99L).toFuture();
+
+        // Then
+        assertEquals("Savings", found.get(2, TimeUnit.SECONDS).name());
+        assertNull(missing.get(2, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testSingleLookupUsesSingleProductCall() {
+        // Given
+        when(productClient.getProduct(7L)).thenReturn(Mono.just(product(7L, "Debit")));
+
+        // When
+        ProductDto product = coalescer.getProduct(7L).block(Duration.ofSeconds(2));
+
+        // Then
+        assertEquals("Debit", product.name());
+        verify(productClient, never()).getProducts(anyList());
+    }
+
+    @Test
+    void testSingleLookupNotFoundCompletesEmpty() {
+        // Given
+        when(productClient.getProduct(99L)).thenReturn(Mono.error(WebClientResponseException.create(
+            HttpStatus.NOT_FOUND.value(), "Not Found", HttpHeaders.EMPTY, new byte[0], null)));
+
+        // When
+        ProductDto product = coalescer.getProduct(99L).block(Duration.ofSeconds(2));
+
+        // Then
+        assertNull(product);
+        verify(productClient, never()).getProducts(anyList());
+    }
+
+    @Test
+    void testBatchFailurePropagatesToAllWaiters() {
+        // Given
+        when(productClient.getProducts(List.of(1L, 2L)))
+            .thenReturn(Flux.error(new IllegalStateException("down")));
+
+        // When
+        CompletableFuture<ProductDto> first = coalescer.getProduct(1L).toFuture();
+        CompletableFuture<ProductDto> second = coalescer.getProduct(2L).toFuture();
+
+        // Then
+        ExecutionException firstError = assertThrows(ExecutionException.class, () -> first.get(2, TimeUnit.SECONDS));
+        ExecutionException secondError = assertThrows(ExecutionException.class, () -> second.get(2, TimeUnit.SECONDS));
+        assertInstanceOf(IllegalStateException.class, firstError.getCause());
+        assertInstanceOf(IllegalStateException.class, secondError.getCause());
+    }
+
+    @Test
+    void testFailedEnqueueDoesNotLeaveLookupPendingForever() {
+        // Given
+        coalescer.stop();
+
+        // When / Then
+        assertThrows(Sinks.EmissionException.class, () -> coalescer.getProduct(1L).block(Duration.ofSeconds(1)));
+        assertThrows(Sinks.EmissionException.class, () -> coalescer.getProduct(1L).block(Duration.ofSeconds(1)));
+        verifyNoInteractions(productClient);
+    }
+
+    private static ProductDto product(long id, String name) {
+        return new ProductDto(id, name);
+    }
+}
@@ -0,0 +1,99 @@
+package com.paymentchain.customer.clients;
+
+import com.paymentchain.customer.clients.dto.ProductDto;
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ResilientProductClientTest {
+
+    @Mock
+    private ProductClient delegate;
+
+    private CircuitBreaker circuitBreaker;
+
+    private ResilientProductClient client;
+
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = CircuitBreaker.of("product", CircuitBreakerConfig.custom()
+            .slidingWindowSize(4)
+            .minimumNumberOfCalls(4)
+            .failureRateThreshold(50)
+            .waitDurationInOpenState(Duration.ofMinutes(1))
+            .ignoreExceptions(BulkheadFullException.class)
+            .build());
+        Bulkhead bulkhead = Bulkhead.of("product", BulkheadConfig.custom()
+            .maxConcurrentCalls(1)
+            .maxWaitDuration(Duration.ZERO)
+            .build());
+        client = new ResilientProductClient(delegate, circuitBreaker, bulkhead, Duration.ofMillis(100));
+    }
+
+    @Test
+    void testOpenCircuitFailsFastWithoutCallingDownstream() {
+        // Given
+        when(delegate.getProduct(1L)).thenReturn(Mono.never());
+        for (int i = 0; i < 4; i++) {
+            assertThrows(Exception.class, () -> client.getProduct(1L).block());
+        }
+
+        // When
+        long start = System.nanoTime();
+        RuntimeException error = assertThrows(RuntimeException.class, () -> client.getProduct(1L).block());
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+        assertInstanceOf(CallNotPermittedException.class, error);
+        assertTrue(elapsedMs < 50);
+        verify(delegate, times(4)).getProduct(1L);
+    }
+
+    @Test
+    void testTimeoutIsRecordedAsFailure() {
+        // Given
+        when(delegate.getProduct(1L)).thenReturn(Mono.never());
+
+        // When
+        RuntimeException error = assertThrows(RuntimeException.class, () -> client.getProduct(1L).block());
+
+        // Then
+        assertInstanceOf(TimeoutException.class, error.getCause());
+        assertEquals(1, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void testBulkheadRejectsConcurrentCallsBeyondLimit() {
+        // Given
+        when(delegate.getProduct(1L)).thenReturn(Mono.delay(Duration.ofMillis(50)).map(tick -> product(1L)));
+        client.getProduct(1L).subscribe();
+
+        // When
+        RuntimeException error = assertThrows(RuntimeException.class, () -> client.getProduct(1L).block());
+
+        // Then
+        assertInstanceOf(BulkheadFullException.class, error);
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    private static ProductDto product(long id) {
+        return new ProductDto(id, "Savings");
+    }
+}
@@ -0,0 +1,38 @@
+package com.paymentchain.customer.clients.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TransactionDtoTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void testUnknownFieldsSurviveTheRoundTrip() throws Exception {
+        // Given
+        String json = """
+            {"id":7,"reference":"REF7","accountIban":"ES9121000418450200051332","date":"2024-03-15T10:15:30",
+             "amount":125.50,"fee":null,"description":null,"status":"02","channel":"WEB",
+             "merchantCategory":"5411","metadata":{"ip":"10.0.0.1","device":"browser","tags":["a",1,true]},
+             "reversal":null}
+            """;
+
+        // When
+        TransactionDto transaction = objectMapper.readValue(json, TransactionDto.class);
+        JsonNode written = objectMapper.readTree(objectMapper.writeValueAsBytes(transaction));
+
+        // Then
+        assertEquals(7L, transaction.getId());
+        assertEquals(new BigDecimal("125.50"), transaction.getAmount());
+        assertEquals("5411", written.get("merchantCategory").asText());
+        assertEquals("browser", written.get("metadata").get("device").asText());
+        assertTrue(written.get("fee").isNull());
+        assertTrue(written.get("reversal").isNull());
+        assertEquals(objectMapper.readTree(json), written);
+    }
+}
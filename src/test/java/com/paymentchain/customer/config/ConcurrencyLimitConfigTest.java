@@ -0,0 +1,146 @@
+package com.paymentchain.customer.config;
+
+import com.paymentchain.customer.exception.ApiExceptionHandler;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit.jupiter.web.SpringJUnitWebConfig;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.WebApplicationContext;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Grupos full y by-id con límite 0: toda petición de esos grupos se rechaza,
+ * las demás deben pasar sin tocar el limitador.
+ */
+@SpringJUnitWebConfig(ConcurrencyLimitConfigTest.TestConfig.class)
+@TestPropertySource(properties = {
+    "customer.concurrency-limit.full.initial-limit=0",
+    "customer.concurrency-limit.full.min-limit=0",
+    "customer.concurrency-limit.by-id.initial-limit=0",
+    "customer.concurrency-limit.by-id.min-limit=0",
+    "customer.concurrency-limit.retry-after-seconds=3"
+})
+class ConcurrencyLimitConfigTest {
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.webAppContextSetup(context).build();
+    }
+
+    @Test
+    void testRejectedRequestReturns503WithRetryAfterAndProblemJson() throws Exception {
+        // When / Then
+        mockMvc.perform(get("/customer/1"))
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string(HttpHeaders.RETRY_AFTER, "3"))
+            .andExpect(content().contentTypeCompatibleWith("application/problem+json"));
+
+        assertEquals(1.0, meterRegistry.get("customer.concurrency.rejected")
+            .tag("group", ConcurrencyLimitConfig.BY_ID).counter().count());
+    }
+
+    @Test
+    void testByIdGroupOnlyLimitsGetRequests() throws Exception {
+        // When / Then
+        mockMvc.perform(put("/customer/1")).andExpect(status().isOk());
+        mockMvc.perform(delete("/customer/1")).andExpect(status().isOk());
+        mockMvc.perform(post("/customer/product-events")).andExpect(status().isOk());
+    }
+
+    @Test
+    void testStreamAndBulkHaveTheirOwnGroups() throws Exception {
+        // When / Then
+        mockMvc.perform(get("/customer/full")).andExpect(status().isServiceUnavailable());
+        mockMvc.perform(get("/customer/full/stream")).andExpect(status().isOk());
+        mockMvc.perform(post("/customer/full/bulk")).andExpect(status().isOk());
+
+        assertEquals(0.0, meterRegistry.get("customer.concurrency.inflight")
+            .tag("group", ConcurrencyLimitConfig.FULL_STREAM).gauge().value());
+        assertEquals(0.0, meterRegistry.get("customer.concurrency.inflight")
+            .tag("group", ConcurrencyLimitConfig.FULL_BULK).gauge().value());
+    }
+
+    @Configuration
+    @EnableWebMvc
+    @Import({ConcurrencyLimitConfig.class, ApiExceptionHandler.class, StubController.class})
+    static class TestConfig {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @RestController
+    @RequestMapping("/customer")
+    static class StubController {
+
+        @GetMapping("/{id}")
+        String get(@PathVariable("id") long id) {
+            return "ok";
+        }
+
+        @PutMapping("/{id}")
+        String put(@PathVariable("id") long id) {
+            return "ok";
+        }
+
+        @DeleteMapping("/{id}")
+        String delete(@PathVariable("id") long id) {
+            return "ok";
+        }
+
+        @PostMapping("/product-events")
+        String productChanged() {
+            return "ok";
+        }
+
+        @GetMapping("/full")
+        String full() {
+            return "ok";
+        }
+
+        @GetMapping("/full/stream")
+        String fullStream() {
+            return "ok";
+        }
+
+        @PostMapping("/full/bulk")
+        String fullBulk() {
+            return "ok";
+        }
+    }
+}
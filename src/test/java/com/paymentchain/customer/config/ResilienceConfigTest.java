@@ -0,0 +1,44 @@
+package com.paymentchain.customer.config;
+
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilienceConfigTest {
+
+    private final CircuitBreaker circuitBreaker = CircuitBreaker.of(ResilienceConfig.PRODUCT,
+        ResilienceConfig.circuitBreakerConfig(new MockEnvironment(), ResilienceConfig.PRODUCT));
+
+    @Test
+    void testNotFoundResponsesDoNotOpenTheCircuit() {
+        // When
+        for (int i = 0; i < 50; i++) {
+            respond(404);
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    void testServerErrorsOpenTheCircuit() {
+        // When
+        for (int i = 0; i < 20; i++) {
+            respond(503);
+        }
+
+        // Then
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreaker.getState());
+    }
+
+    private void respond(int status) {
+        WebClientResponseException error = WebClientResponseException.create(status, "status " + status, null, null, null);
+        assertThrows(RuntimeException.class, () -> circuitBreaker.executeRunnable(() -> {
+            throw error;
+        }));
+    }
+}
@@ -0,0 +1,78 @@
+package com.paymentchain.customer.deadline;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineExchangeFilterTest {
+
+    private final DeadlineExchangeFilter filter = new DeadlineExchangeFilter();
+
+    private final ClientRequest request = ClientRequest
+        .create(HttpMethod.GET, URI.create("http://BUSINESSDOMAIN-TRANSACTION/transactions/transaction"))
+        .build();
+
+    @Test
+    void testRemainingBudgetIsSentAsHeader() {
+        // Given
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        ExchangeFunction next = outgoing -> {
+            sent.set(outgoing);
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        };
+
+        // When
+        filter.filter(request, next)
+            .contextWrite(Context.of(Deadline.CONTEXT_KEY, Deadline.after(Duration.ofSeconds(2))))
+            .block();
+
+        // Then
+        long budgetMs = Long.parseLong(sent.get().headers().getFirst(Deadline.HEADER));
+        assertTrue(budgetMs > 1000 && budgetMs <= 2000, "Unexpected budget " + budgetMs);
+    }
+
+    @Test
+    void testCallIsSkippedWhenBudgetIsExhausted() {
+        // Given
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        ExchangeFunction next = outgoing -> {
+            sent.set(outgoing);
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        };
+
+        // When
+        Mono<ClientResponse> response = filter.filter(request, next)
+            .contextWrite(Context.of(Deadline.CONTEXT_KEY, Deadline.after(Duration.ZERO)));
+
+        // Then
+        assertThrows(DeadlineExceededException.class, response::block);
+        assertNull(sent.get());
+    }
+
+    @Test
+    void testCallWithoutDeadlineIsUnchanged() {
+        // Given
+        AtomicReference<ClientRequest> sent = new AtomicReference<>();
+        ExchangeFunction next = outgoing -> {
+            sent.set(outgoing);
+            return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+        };
+
+        // When
+        filter.filter(request, next).block();
+
+        // Then
+        assertSame(request, sent.get());
+    }
+}
@@ -0,0 +1,73 @@
+package com.paymentchain.customer.limits;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GradientLimiterTest {
+
+    @Test
+    void testRejectsOnceLimitIsReached() {
+        // Given
+        GradientLimiter limiter = new GradientLimiter(2, 1, 10, 1.5, 0.2, 10);
+
+        // When
+        boolean first = limiter.tryAcquire();
+        boolean second = limiter.tryAcquire();
+        boolean third = limiter.tryAcquire();
+        limiter.release(TimeUnit.MILLISECONDS.toNanos(10));
+        boolean afterRelease = limiter.tryAcquire();
+
+        // Then
+        assertTrue(first);
+        assertTrue(second);
+        assertFalse(third);
+        assertTrue(afterRelease);
+    }
+
+    @Test
+    void testLimitShrinksWhenLatencyRisesUnderLoad() {
+        // Given
+        GradientLimiter limiter = new GradientLimiter(100, 4, 200, 1.5, 0.2, 10);
+        samples(limiter, 100, 10, 100);
+        int before = limiter.getLimit();
+
+        // When: la latencia se multiplica por 10 con el servicio saturado
+        samples(limiter, 100, 100, before);
+
+        // Then
+        assertTrue(limiter.getLimit() < before / 2, "Expected limit to drop from " + before + ", got " + limiter.getLimit());
+    }
+
+    @Test
+    void testLimitGrowsWhileLatencyStaysFlatUnderLoad() {
+        // Given
+        GradientLimiter limiter = new GradientLimiter(20, 4, 200, 1.5, 0.2, 10);
+
+        // When
+        samples(limiter, 200, 10, 20);
+
+        // Then
+        assertTrue(limiter.getLimit() > 20, "Expected limit to grow, got " + limiter.getLimit());
+    }
+
+    @Test
+    void testLimitDoesNotGrowWithLittleTraffic() {
+        // Given
+        GradientLimiter limiter = new GradientLimiter(20, 4, 200, 1.5, 0.2, 10);
+
+        // When: nunca más de 2 peticiones en vuelo
+        samples(limiter, 200, 10, 2);
+
+        // Then
+        assertEquals(20, limiter.getLimit());
+    }
+
+    private static void samples(GradientLimiter limiter, int windows, long rttMs, int inflight) {
+        for (int i = 0; i < windows * 10; i++) {
+            limiter.onSample(TimeUnit.MILLISECONDS.toNanos(rttMs), inflight);
+        }
+    }
+}
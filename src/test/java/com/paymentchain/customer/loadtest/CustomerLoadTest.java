@@ -0,0 +1,146 @@
+package com.paymentchain.customer.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentchain.customer.entities.Customer;
+import com.paymentchain.customer.entities.CustomerProduct;
+import com.paymentchain.customer.respository.CustomerRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.io.File;
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prueba de carga de los endpoints de consulta con downstreams simulados.
+ *
+ * - Perfil loadtest: sin config server ni Eureka; BUSINESSDOMAIN-PRODUCT y
+ *   BUSINESSDOMAIN-TRANSACTION se resuelven con una lista estática de instancias
+ *   (SimpleDiscoveryClient) que apunta a los StubServer locales
+ * - Mismo camino que en producción: load balancer, pools, resiliencia, caches
+ * - Siembra loadtest.customers customers con loadtest.products productos cada uno
+ * - Por endpoint: throughput, p50/p90/p99/p99.9/max y tasa de error, en consola
+ *   y en target/loadtest-report.json
+ *
+ * Ejecutar: mvn test -Dloadtest=true -Dtest=CustomerLoadTest
+ * Parámetros: -Dloadtest.concurrency=32 -Dloadtest.rate=0 -Dloadtest.duration-seconds=30
+ *   -Dloadtest.product.latency=lognormal:20,200 -Dloadtest.product.error-rate=0.01
+ *   -Dloadtest.transaction.transactions=50 (ver StubServer y ScenarioRunner)
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("loadtest")
+@EnabledIfSystemProperty(named = "loadtest", matches = "true")
+class CustomerLoadTest {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CustomerLoadTest.class);
+
+    private static final int CUSTOMERS = Integer.getInteger("loadtest.customers", 1000);
+
+    private static final int PRODUCTS = Integer.getInteger("loadtest.products", 5);
+
+    private static StubServer productService;
+
+    private static StubServer transactionService;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @DynamicPropertySource
+    static void downstreams(DynamicPropertyRegistry registry) {
+        productService = StubServer.product(StubServer.Settings.fromSystemProperties("loadtest.product"));
+        transactionService = StubServer.transaction(StubServer.Settings.fromSystemProperties("loadtest.transaction"));
+
+        registry.add("spring.cloud.discovery.client.simple.instances[BUSINESSDOMAIN-PRODUCT][0].uri",
+            productService::uri);
+        registry.add("spring.cloud.discovery.client.simple.instances[BUSINESSDOMAIN-TRANSACTION][0].uri",
+            transactionService::uri);
+    }
+
+    @AfterAll
+    static void stopDownstreams() {
+        productService.close();
+        transactionService.close();
+    }
+
+    @Test
+    void customerReadEndpointsUnderLoad() throws Exception {
+        // Given
+        List<Long> ids = seed();
+        ScenarioRunner runner = new ScenarioRunner(ScenarioRunner.Settings.fromSystemProperties());
+
+        Map<String, Supplier<HttpRequest>> endpoints = new LinkedHashMap<>();
+        endpoints.put("GET /customer/{id}", () -> get("/customer/" + ids.get(random(ids.size()))));
+        endpoints.put("GET /customer/full", () -> get("/customer/full?code=" + code(random(CUSTOMERS))));
+        endpoints.put("GET /customer/full/reactive", () -> get("/customer/full/reactive?code=" + code(random(CUSTOMERS))));
+        endpoints.put("GET /customer/full/stream", () -> get("/customer/full/stream?code=" + code(random(CUSTOMERS))));
+
+        // When
+        List<ScenarioRunner.Result> results = new ArrayList<>();
+        endpoints.forEach((endpoint, requests) -> {
+            ScenarioRunner.Result result = runner.run(endpoint, requests);
+            LOGGER.info("Load test result: {}", result);
+            results.add(result);
+        });
+
+        // Then
+        new ObjectMapper().writerWithDefaultPrettyPrinter()
+            .writeValue(new File("target/loadtest-report.json"), results);
+        results.forEach(result -> assertTrue(result.requests() > 0, "No requests completed for " + result.endpoint()));
+    }
+
+    private List<Long> seed() {
+        List<Customer> customers = new ArrayList<>(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            Customer customer = new Customer();
+            customer.setCode(code(i));
+            customer.setName("Name " + i);
+            customer.setIban(String.format("ES%022d", i));
+            List<CustomerProduct> products = new ArrayList<>(PRODUCTS);
+            for (long p = 1; p <= PRODUCTS; p++) {
+                CustomerProduct product = new CustomerProduct();
+                product.setProductId(ThreadLocalRandom.current().nextLong(1, 200));
+                product.setCustomer(customer);
+                products.add(product);
+            }
+            customer.setProducts(products);
+            customers.add(customer);
+        }
+        return customerRepository.saveAll(customers).stream().map(Customer::getId).toList();
+    }
+
+    private HttpRequest get(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+            .timeout(Duration.ofSeconds(10))
+            .GET()
+            .build();
+    }
+
+    private static int random(int bound) {
+        return ThreadLocalRandom.current().nextInt(bound);
+    }
+
+    private static String code(int i) {
+        return String.format("CUST%06d", i);
+    }
+}
@@ -0,0 +1,50 @@
+package com.paymentchain.customer.loadtest;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Distribución de latencia de un stub downstream.
+ *
+ * Formatos (milisegundos):
+ * - fixed:20
+ * - uniform:10-50
+ * - lognormal:20,200  (mediana 20, p99 200: cola larga como un servicio real)
+ *
+ * @author benas
+ */
+@FunctionalInterface
+interface LatencyDistribution {
+
+    /** z del percentil 99 de la normal estándar */
+    double Z_99 = 2.326;
+
+    Duration sample();
+
+    static LatencyDistribution parse(String spec) {
+        String[] parts = spec.trim().split(":", 2);
+        String type = parts[0];
+        String args = parts.length > 1 ? parts[1] : "0";
+
+        switch (type) {
+            case "fixed" -> {
+                Duration fixed = Duration.ofMillis(Long.parseLong(args));
+                return () -> fixed;
+            }
+            case "uniform" -> {
+                String[] range = args.split("-");
+                long min = Long.parseLong(range[0]);
+                long max = Long.parseLong(range[1]);
+                return () -> Duration.ofMillis(ThreadLocalRandom.current().nextLong(min, max + 1));
+            }
+            case "lognormal" -> {
+                String[] values = args.split(",");
+                double mu = Math.log(Double.parseDouble(values[0]));
+                double sigma = (Math.log(Double.parseDouble(values[1])) - mu) / Z_99;
+                return () -> Duration.ofNanos(
+                    (long) (Math.exp(mu + sigma * ThreadLocalRandom.current().nextGaussian()) * 1_000_000));
+            }
+            default -> throw new IllegalArgumentException("Unknown latency distribution: " + spec);
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package com.paymentchain.customer.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * Ejecuta un escenario de carga contra un endpoint y resume el resultado.
+ *
+ * Modos:
+ * - Lazo cerrado (rate = 0): concurrency clientes, cada uno lanza la siguiente
+ *   petición al recibir la respuesta
+ * - Lazo abierto (rate > 0): llegadas a ritmo constante, independientes de las
+ *   respuestas; la latencia se mide desde el instante previsto de envío, así un
+ *   servidor atascado no oculta su cola (coordinated omission)
+ *
+ * Tras el calentamiento se registran latencia y resultado de cada petición;
+ * cuenta como error cualquier estado >= 400, timeout o fallo de conexión.
+ *
+ * @author benas
+ */
+final class ScenarioRunner {
+
+    private final HttpClient httpClient = HttpClient.newBuilder()
+        .connectTimeout(Duration.ofSeconds(5))
+        .executor(Executors.newVirtualThreadPerTaskExecutor())
+        .build();
+
+    private final Settings settings;
+
+    ScenarioRunner(Settings settings) {
+        this.settings = settings;
+    }
+
+    Result run(String endpoint, Supplier<HttpRequest> requests) {
+        Recorder recorder = new Recorder();
+        long start = System.nanoTime();
+        long measureFrom = start + settings.warmup().toNanos();
+        long end = measureFrom + settings.duration().toNanos();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            if (settings.rate() > 0) {
+                long interval = 1_000_000_000L / settings.rate();
+                for (long intended = start; intended < end; intended += interval) {
+                    LockSupport.parkNanos(intended - System.nanoTime());
+                    long scheduled = intended;
+                    clients.submit(() -> send(requests.get(), scheduled, measureFrom, recorder));
+                }
+            } else {
+                for (int i = 0; i < settings.concurrency(); i++) {
+                    clients.submit(() -> {
+                        while (System.nanoTime() < end) {
+                            send(requests.get(), System.nanoTime(), measureFrom, recorder);
+                        }
+                    });
+                }
+            }
+        }
+
+        return recorder.result(endpoint, settings.duration());
+    }
+
+    private void send(HttpRequest request, long scheduled, long measureFrom, Recorder recorder) {
+        boolean ok;
+        try {
+            HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+            ok = response.statusCode() < 400;
+        } catch (IOException ex) {
+            ok = false;
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+
+        if (scheduled >= measureFrom) {
+            recorder.record(System.nanoTime() - scheduled, ok);
+        }
+    }
+
+    /**
+     * Parámetros de carga (-Dloadtest.concurrency, .rate, .warmup-seconds, .duration-seconds).
+     */
+    record Settings(int concurrency, int rate, Duration warmup, Duration duration) {
+
+        static Settings fromSystemProperties() {
+            return new Settings(
+                Integer.getInteger("loadtest.concurrency", 32),
+                Integer.getInteger("loadtest.rate", 0),
+                Duration.ofSeconds(Long.getLong("loadtest.warmup-seconds", 10)),
+                Duration.ofSeconds(Long.getLong("loadtest.duration-seconds", 30)));
+        }
+    }
+
+    /**
+     * Resumen de un endpoint: throughput (peticiones/s), percentiles de latencia (ms) y tasa de error.
+     */
+    record Result(String endpoint, long requests, long errors, double throughput,
+                  double p50, double p90, double p99, double p999, double max) {
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) errors / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-22s %8d req %9.1f req/s  p50 %7.1f  p90 %7.1f  p99 %7.1f  p99.9 %7.1f  max %7.1f ms  errors %5.2f%%",
+                endpoint, requests, throughput, p50, p90, p99, p999, max, errorRate() * 100);
+        }
+    }
+
+    /**
+     * Latencias exactas (sin muestreo) de la fase de medida.
+     */
+    private static final class Recorder {
+
+        private long[] latencies = new long[1 << 16];
+
+        private int count;
+
+        private long errors;
+
+        synchronized void record(long nanos, boolean ok) {
+            if (count == latencies.length) {
+                latencies = Arrays.copyOf(latencies, count * 2);
+            }
+            latencies[count++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        synchronized Result result(String endpoint, Duration duration) {
+            long[] sorted = Arrays.copyOf(latencies, count);
+            Arrays.sort(sorted);
+            return new Result(endpoint, count, errors, count / (duration.toNanos() / 1e9),
+                percentile(sorted, 50), percentile(sorted, 90), percentile(sorted, 99), percentile(sorted, 99.9),
+                count == 0 ? 0 : sorted[count - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+            return sorted[Math.max(0, index)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package com.paymentchain.customer.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import io.netty.handler.codec.http.HttpHeaderNames;
+import io.netty.handler.codec.http.HttpResponseStatus;
+import io.netty.handler.codec.http.QueryStringDecoder;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.http.server.HttpServerRequest;
+import reactor.netty.http.server.HttpServerResponse;
+import reactor.netty.http.server.HttpServerRoutes;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Sustituto local de product / transaction service para pruebas de carga.
+ *
+ * Servidor Reactor Netty en un puerto libre de localhost; la latencia se simula
+ * sin bloquear hilos, así el stub no es el cuello de botella.
+ *
+ * Configuración (Settings.fromSystemProperties("loadtest.product") / "loadtest.transaction"):
+ * - latency: distribución de latencia (LatencyDistribution), por defecto lognormal:20,200
+ * - error-rate: fracción de respuestas 503 (0.0 - 1.0)
+ * - transactions: transacciones por respuesta de transaction service (tamaño del payload)
+ *
+ * @author benas
+ */
+final class StubServer implements AutoCloseable {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final DisposableServer server;
+
+    private StubServer(DisposableServer server) {
+        this.server = server;
+    }
+
+    /**
+     * GET /product/{id} y GET /product/batch?ids=1,2,3 (mismo contrato que ProductClient).
+     */
+    static StubServer product(Settings settings) {
+        return start(routes -> routes
+            .get("/product/batch", (request, response) -> respond(settings, response, () -> {
+                ArrayNode products = MAPPER.createArrayNode();
+                for (String id : queryParams(request, "ids")) {
+                    for (String value : id.split(",")) {
+                        products.addObject().put("id", Long.parseLong(value)).put("name", "Product " + value);
+                    }
+                }
+                return products;
+            }))
+            .get("/product/{id}", (request, response) -> respond(settings, response, () -> MAPPER.createObjectNode()
+                .put("id", Long.parseLong(request.param("id")))
+                .put("name", "Product " + request.param("id")))));
+    }
+
+    /**
+     * GET /transactions/transaction?accountIban=...&limit=N (mismo contrato que TransactionClient).
+     */
+    static StubServer transaction(Settings settings) {
+        return start(routes -> routes
+            .get("/transactions/transaction", (request, response) -> respond(settings, response, () -> {
+                String iban = queryParams(request, "accountIban").stream().findFirst().orElse("");
+                int count = queryParams(request, "limit").stream().findFirst()
+                    .map(limit -> Math.min(Integer.parseInt(limit), settings.transactions()))
+                    .orElse(settings.transactions());
+                ArrayNode transactions = MAPPER.createArrayNode();
+                for (int i = 1; i <= count; i++) {
+                    transactions.addObject()
+                        .put("id", i)
+                        .put("reference", "REF" + i)
+                        .put("accountIban", iban)
+                        .put("date", "2024-03-15T10:15:30")
+                        .put("amount", 125.50)
+                        .put("fee", 0.98)
+                        .put("description", "Transferencia recibida " + i)
+                        .put("status", "02")
+                        .put("channel", "WEB");
+                }
+                return transactions;
+            })));
+    }
+
+    private static StubServer start(Consumer<HttpServerRoutes> routes) {
+        return new StubServer(HttpServer.create()
+            .host("127.0.0.1")
+            .port(0)
+            .route(routes)
+            .bindNow());
+    }
+
+    private static Publisher<Void> respond(Settings settings, HttpServerResponse response,
+            Supplier<Object> body) {
+        return Mono.delay(settings.latency().sample())
+            .flatMap(tick -> {
+                if (ThreadLocalRandom.current().nextDouble() < settings.errorRate()) {
+                    return Mono.from(response.status(HttpResponseStatus.SERVICE_UNAVAILABLE).send());
+                }
+                return Mono.fromCallable(() -> MAPPER.writeValueAsBytes(body.get()))
+                    .flatMap(bytes -> Mono.from(response
+                        .header(HttpHeaderNames.CONTENT_TYPE, "application/json")
+                        .sendByteArray(Mono.just(bytes))));
+            });
+    }
+
+    private static List<String> queryParams(HttpServerRequest request, String name) {
+        return new QueryStringDecoder(request.uri()).parameters().getOrDefault(name, List.of());
+    }
+
+    String uri() {
+        return "http://" + server.host() + ":" + server.port();
+    }
+
+    @Override
+    public void close() {
+        server.disposeNow();
+    }
+
+    /**
+     * Comportamiento de un stub.
+     */
+    record Settings(LatencyDistribution latency, double errorRate, int transactions) {
+
+        static Settings fromSystemProperties(String prefix) {
+            return new Settings(
+                LatencyDistribution.parse(System.getProperty(prefix + ".latency", "lognormal:20,200")),
+                Double.parseDouble(System.getProperty(prefix + ".error-rate", "0.0")),
+                Integer.getInteger(prefix + ".transactions", 50));
+        }
+    }
+}
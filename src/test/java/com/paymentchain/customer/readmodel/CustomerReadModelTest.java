@@ -0,0 +1,178 @@
+package com.paymentchain.customer.readmodel;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.paymentchain.customer.cache.ProductNameCache;
+import com.paymentchain.customer.config.ResilienceConfig;
+import com.paymentchain.customer.entities.Customer;
+import com.paymentchain.customer.entities.CustomerProduct;
+import com.paymentchain.customer.events.CustomerChangedEvent;
+import com.paymentchain.customer.events.ProductChangedEvent;
+import com.paymentchain.customer.respository.CustomerRepository;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CustomerReadModelTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private ProductNameCache productNameCache;
+
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+
+    private CustomerReadModel readModel;
+
+    @BeforeEach
+    void setUp() {
+        readModel = new CustomerReadModel();
+        ReflectionTestUtils.setField(readModel, "customerRepository", customerRepository);
+        ReflectionTestUtils.setField(readModel, "productNameCache", productNameCache);
+        ReflectionTestUtils.setField(readModel, "circuitBreakerRegistry", circuitBreakerRegistry);
+        ReflectionTestUtils.setField(readModel, "objectMapper", new ObjectMapper());
+        ReflectionTestUtils.setField(readModel, "jpaScheduler", Schedulers.immediate());
+        ReflectionTestUtils.setField(readModel, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(readModel, "enabled", true);
+        ReflectionTestUtils.setField(readModel, "maxSize", 100);
+        ReflectionTestUtils.setField(readModel, "buildTimeoutMs", 1000L);
+        readModel.init();
+    }
+
+    @Test
+    void testViewIsBuiltOnceThenServedWithoutDatabaseOrProductService() {
+        // Given
+        when(customerRepository.findWithProductsByCode("CUST001")).thenReturn(customer("CUST001", "John"));
+        when(productNameCache.getNames(Set.of(1L, 2L))).thenReturn(Mono.just(Map.of(1L, "Savings", 2L, "Credit")));
+
+        // When
+        Customer first = readModel.find("CUST001").block();
+        first.getProducts().get(0).setProductName("modified by caller");
+        Customer second = readModel.find("CUST001").block();
+
+        // Then
+        assertEquals("Savings", second.getProducts().get(0).getProductName());
+        assertEquals("Credit", second.getProducts().get(1).getProductName());
+        assertNull(second.getTransitions());
+        verify(customerRepository, times(1)).findWithProductsByCode("CUST001");
+        verify(productNameCache, times(1)).getNames(any());
+    }
+
+    @Test
+    void testProductChangeRewritesNameInMaterializedViews() {
+        // Given
+        when(customerRepository.findWithProductsByCode("CUST001")).thenReturn(customer("CUST001", "John"));
+        when(productNameCache.getNames(Set.of(1L, 2L))).thenReturn(Mono.just(Map.of(1L, "Savings", 2L, "Credit")));
+        when(productNameCache.getName(1L)).thenReturn(Mono.just("Premium savings"));
+        readModel.find("CUST001").block();
+
+        // When
+        readModel.onProductChanged(new ProductChangedEvent(1L));
+        Customer result = readModel.find("CUST001").block();
+
+        // Then
+        assertEquals("Premium savings", result.getProducts().get(0).getProductName());
+        assertEquals("Credit", result.getProducts().get(1).getProductName());
+        verify(customerRepository, times(1)).findWithProductsByCode("CUST001");
+    }
+
+    @Test
+    void testCustomerChangeRebuildsMaterializedView() {
+        // Given
+        when(customerRepository.findWithProductsByCode("CUST001"))
+            .thenReturn(customer("CUST001", "John"), customer("CUST001", "Johnny"));
+        when(productNameCache.getNames(Set.of(1L, 2L))).thenReturn(Mono.just(Map.of(1L, "Savings", 2L, "Credit")));
+        readModel.find("CUST001").block();
+
+        // When
+        readModel.onCustomerChanged(new CustomerChangedEvent("CUST001"));
+        Customer result = readModel.find("CUST001").block();
+
+        // Then
+        assertEquals("Johnny", result.getName());
+        verify(customerRepository, times(2)).findWithProductsByCode("CUST001");
+    }
+
+    @Test
+    void testProductServiceFailureStoresIncompleteViewAndRetriesNamesInBackground() {
+        // Given
+        when(customerRepository.findWithProductsByCode("CUST001")).thenReturn(customer("CUST001", "John"));
+        when(productNameCache.getNames(Set.of(1L, 2L)))
+            .thenReturn(Mono.error(new IllegalStateException("down")))
+            .thenReturn(Mono.just(Map.of(1L, "Savings", 2L, "Credit")));
+
+        // When
+        Customer degraded = readModel.find("CUST001").block();
+        Customer retried = readModel.find("CUST001").block(); // Sirve la vista incompleta y lanza el reintento
+        Customer result = readModel.find("CUST001").block();
+
+        // Then
+        assertNull(degraded.getProducts().get(0).getProductName());
+        assertNull(retried.getProducts().get(0).getProductName());
+        assertEquals("Savings", result.getProducts().get(0).getProductName());
+        verify(customerRepository, times(1)).findWithProductsByCode("CUST001");
+        verify(productNameCache, times(2)).getNames(any());
+    }
+
+    @Test
+    void testOpenProductCircuitSkipsProductServiceOnBuild() {
+        // Given
+        when(customerRepository.findWithProductsByCode("CUST001")).thenReturn(customer("CUST001", "John"));
+        circuitBreakerRegistry.circuitBreaker(ResilienceConfig.PRODUCT).transitionToOpenState();
+
+        // When
+        Customer result = readModel.find("CUST001").block();
+
+        // Then
+        assertEquals("John", result.getName());
+        assertNull(result.getProducts().get(0).getProductName());
+        verifyNoInteractions(productNameCache);
+    }
+
+    @Test
+    void testNoBookkeepingIsKeptForChangedCustomersWithoutView() {
+        // When
+        for (int i = 0; i < 100; i++) {
+            readModel.onCustomerChanged(new CustomerChangedEvent("IMPORTED" + i));
+        }
+
+        // Then
+        assertEquals(0, ((Map<?, ?>) ReflectionTestUtils.getField(readModel, "pendingBuilds")).size());
+        verifyNoInteractions(customerRepository);
+    }
+
+    private static Customer customer(String code, String name) {
+        Customer customer = new Customer();
+        customer.setCode(code);
+        customer.setName(name);
+        customer.setIban("ES" + code);
+        List<CustomerProduct> products = new ArrayList<>();
+        for (long i = 1; i <= 2; i++) {
+            CustomerProduct product = new CustomerProduct();
+            product.setProductId(i);
+            products.add(product);
+        }
+        customer.setProducts(products);
+        return customer;
+    }
+}
@@ -3,17 +3,26 @@ package com.paymentchain.customer.repository;
 import com.paymentchain.customer.clients.ProductClient;
 import com.paymentchain.customer.clients.TransactionClient;
 import com.paymentchain.customer.entities.Customer;
+import com.paymentchain.customer.entities.CustomerProduct;
 import com.paymentchain.customer.respository.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.TestPropertySource;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -21,7 +30,8 @@ import static org.junit.jupiter.api.Assertions.*;
 @TestPropertySource(properties = {
     "spring.cloud.config.enabled=false",
     "eureka.client.enabled=false",
-    "spring.cloud.loadbalancer.enabled=false"
+    "spring.cloud.loadbalancer.enabled=false",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
 })
 class CustomerRepositoryTest {
 
@@ -43,6 +53,9 @@ class CustomerRepositoryTest {
     @Autowired
     private CustomerRepository customerRepository;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
     @Test
     void testFindById() {
         // Given
@@ -98,6 +111,58 @@ class CustomerRepositoryTest {
         assertNull(found);
     }
 
+    @Test
+    void testFindByIban() {
+        // Given
+        Customer customer = new Customer();
+        customer.setCode("CUST015");
+        customer.setName("Eve");
+        customer.setIban("ES1515151515");
+
+        entityManager.persistAndFlush(customer);
+
+        // When
+        List<Customer> found = customerRepository.findByIban("ES1515151515");
+
+        // Then
+        assertEquals(1, found.size());
+        assertEquals("CUST015", found.get(0).getCode());
+    }
+
+    @Test
+    void testFindByIbanReturnsAllCustomersSharingIban() {
+        // Given
+        Customer first = new Customer();
+        first.setCode("CUST017");
+        first.setIban("ES1717171717");
+        entityManager.persist(first);
+
+        Customer second = new Customer();
+        second.setCode("CUST018");
+        second.setIban("ES1717171717");
+        entityManager.persistAndFlush(second);
+
+        // When
+        List<Customer> found = customerRepository.findByIban("ES1717171717");
+
+        // Then
+        assertEquals(List.of("CUST017", "CUST018"), found.stream().map(Customer::getCode).sorted().toList());
+    }
+
+    @Test
+    void testDuplicateCodeRejected() {
+        // Given
+        Customer customer = new Customer();
+        customer.setCode("CUST016");
+        customerRepository.saveAndFlush(customer);
+
+        Customer duplicate = new Customer();
+        duplicate.setCode("CUST016");
+
+        // When / Then
+        assertThrows(DataIntegrityViolationException.class, () -> customerRepository.saveAndFlush(duplicate));
+    }
+
     @Test
     void testSaveCustomer() {
         // Given
@@ -136,4 +201,115 @@ class CustomerRepositoryTest {
         Optional<Customer> found = customerRepository.findById(customerId);
         assertFalse(found.isPresent());
     }
+
+    @Test
+    void testFindWithProductsByCodeUsesSingleStatement() {
+        // Given
+        entityManager.persist(customerWithProducts("CUST005", 100L, 200L, 300L));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = statistics();
+
+        // When
+        Customer found = customerRepository.findWithProductsByCode("CUST005");
+        int productCount = found.getProducts().size();
+
+        // Then
+        assertEquals(3, productCount);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindWithProductsByIdUsesSingleStatement() {
+        // Given
+        Customer saved = entityManager.persist(customerWithProducts("CUST006", 100L, 200L));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = statistics();
+
+        // When
+        Optional<Customer> found = customerRepository.findWithProductsById(saved.getId());
+        int productCount = found.orElseThrow().getProducts().size();
+
+        // Then
+        assertEquals(2, productCount);
+        assertEquals(1, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void testFindAllBatchFetchesProducts() {
+        // Given
+        entityManager.persist(customerWithProducts("CUST007", 100L, 200L));
+        entityManager.persist(customerWithProducts("CUST008", 100L));
+        entityManager.persist(customerWithProducts("CUST009", 300L, 400L));
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = statistics();
+
+        // When
+        List<Customer> customers = customerRepository.findAll();
+        int productCount = customers.stream().mapToInt(c -> c.getProducts().size()).sum();
+
+        // Then
+        assertEquals(5, productCount);
+        assertEquals(2, statistics.getPrepareStatementCount()); // customers + un lote de productos
+    }
+
+    @Test
+    void testFindPageAfterSeeksById() {
+        // Given
+        long first = entityManager.persist(customerWithProducts("CUST010")).getId();
+        long second = entityManager.persist(customerWithProducts("CUST011")).getId();
+        long third = entityManager.persist(customerWithProducts("CUST012")).getId();
+        entityManager.flush();
+
+        // When
+        List<Customer> page = customerRepository.findPageAfter(first, PageRequest.of(0, 1));
+        List<Customer> rest = customerRepository.findPageAfter(second, PageRequest.of(0, 10));
+
+        // Then
+        assertEquals(1, page.size());
+        assertEquals(second, page.get(0).getId());
+        assertEquals(1, rest.size());
+        assertEquals(third, rest.get(0).getId());
+    }
+
+    @Test
+    void testStreamAllReturnsCustomersOrderedById() {
+        // Given
+        entityManager.persist(customerWithProducts("CUST013"));
+        entityManager.persist(customerWithProducts("CUST014"));
+        entityManager.flush();
+
+        // When
+        List<String> codes;
+        try (Stream<Customer> customers = customerRepository.streamAll()) {
+            codes = customers.map(Customer::getCode).toList();
+        }
+
+        // Then
+        assertEquals(List.of("CUST013", "CUST014"), codes);
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private static Customer customerWithProducts(String code, Long... productIds) {
+        Customer customer = new Customer();
+        customer.setCode(code);
+        customer.setName("Test");
+        customer.setIban("ES" + code);
+        List<CustomerProduct> products = new ArrayList<>();
+        for (Long productId : productIds) {
+            CustomerProduct product = new CustomerProduct();
+            product.setProductId(productId);
+            product.setCustomer(customer);
+            products.add(product);
+        }
+        customer.setProducts(products);
+        return customer;
+    }
 }
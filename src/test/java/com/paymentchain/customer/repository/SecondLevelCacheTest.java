@@ -0,0 +1,125 @@
+package com.paymentchain.customer.repository;
+
+import com.paymentchain.customer.clients.ProductClient;
+import com.paymentchain.customer.clients.TransactionClient;
+import com.paymentchain.customer.config.SecondLevelCacheConfig;
+import com.paymentchain.customer.entities.Customer;
+import com.paymentchain.customer.entities.CustomerProduct;
+import com.paymentchain.customer.respository.CustomerRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.client.HttpClient;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Sin transacción de test: cada llamada al repositorio hace commit, igual que en
+ * producción, para que la cache de segundo nivel se rellene e invalide.
+ */
+@DataJpaTest
+@Import(SecondLevelCacheConfig.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+    "spring.cloud.config.enabled=false",
+    "eureka.client.enabled=false",
+    "spring.cloud.loadbalancer.enabled=false",
+    "customer.second-level-cache.enabled=true"
+})
+class SecondLevelCacheTest {
+
+    @MockBean
+    private WebClient.Builder webClientBuilder;
+
+    @MockBean
+    private ProductClient productClient;
+
+    @MockBean
+    private TransactionClient transactionClient;
+
+    @MockBean
+    private HttpClient httpClient;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @AfterEach
+    void cleanUp() {
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void testFindWithProductsByIdIsServedFromSecondLevelCache() {
+        // Given: GET /customer/{id}
+        Customer saved = customerRepository.save(customer("CUST100", "John"));
+        customerRepository.findWithProductsById(saved.getId());
+        Statistics statistics = statistics();
+
+        // When
+        Customer cached = customerRepository.findWithProductsById(saved.getId()).orElseThrow();
+
+        // Then
+        assertEquals(0, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(2, cached.getProducts().size());
+    }
+
+    @Test
+    void testFindWithProductsByCodeQueryCacheIsInvalidatedOnUpdate() {
+        // Given: GET /customer/full
+        Customer saved = customerRepository.save(customer("CUST101", "John"));
+        customerRepository.findWithProductsByCode("CUST101");
+        Statistics statistics = statistics();
+
+        // When
+        Customer cached = customerRepository.findWithProductsByCode("CUST101");
+        saved.setName("Jane");
+        customerRepository.save(saved);
+        Customer reloaded = customerRepository.findWithProductsByCode("CUST101");
+
+        // Then
+        assertEquals("John", cached.getName());
+        assertEquals("Jane", reloaded.getName());
+        assertEquals(2, reloaded.getProducts().size());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(1, statistics.getQueryCacheMissCount());
+    }
+
+    private Statistics statistics() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        return statistics;
+    }
+
+    private static Customer customer(String code, String name) {
+        Customer customer = new Customer();
+        customer.setCode(code);
+        customer.setName(name);
+        customer.setIban("ES" + code);
+        List<CustomerProduct> products = new ArrayList<>();
+        for (long i = 1; i <= 2; i++) {
+            CustomerProduct product = new CustomerProduct();
+            product.setProductId(i);
+            product.setCustomer(customer);
+            products.add(product);
+        }
+        customer.setProducts(products);
+        return customer;
+    }
+}